@@ -0,0 +1,76 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.benchmarks;
+
+import com.netflix.frigga.cluster.AsgNameProvider;
+import com.netflix.frigga.cluster.ClusterGrouper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups a whole list of names by cluster per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ClusterGrouperBenchmark {
+
+    private static final AsgNameProvider<String> IDENTITY = asgName -> asgName;
+
+    @Param
+    public NameCorpus.Kind corpus;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<String> names;
+
+    @Setup
+    public void setUp() {
+        String[] corpusNames = NameCorpus.groupNames(corpus);
+        names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            names.add(corpusNames[i & (NameCorpus.SIZE - 1)]);
+        }
+    }
+
+    @Benchmark
+    public Map<String, List<String>> groupAsgNamesByClusterName() {
+        return ClusterGrouper.groupAsgNamesByClusterName(names);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> groupByClusterNameInParallel() {
+        return ClusterGrouper.groupByClusterNameInParallel(names, IDENTITY);
+    }
+}
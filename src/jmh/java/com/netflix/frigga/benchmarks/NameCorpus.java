@@ -0,0 +1,223 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Deterministic corpora of names, app versions, and image descriptions for the benchmarks. Each corpus is generated
+ * from a fixed seed so that runs are comparable, and holds a power of two number of entries so that benchmarks can
+ * cycle through it with a mask.
+ */
+public final class NameCorpus {
+
+    /**
+     * The shapes of name exercised by the name parsing and grouping benchmarks.
+     */
+    public enum Kind {
+        /** "app", "app-stack", and "app-stack-v001" style names. */
+        SHORT,
+        /** Names with a free form detail of many hyphenated words. */
+        LONG_DETAIL,
+        /** Names whose detail ends with several labeled variables, such as "-c0us-d0prod-z0useast1a". */
+        LABELED_VARIABLES,
+        /** Names whose detail starts with many shards, such as "x1alpha-x2beta-...". */
+        MANY_SHARDS,
+        /** Names that fail to parse or that stress edge cases: illegal characters, hyphen runs, near miss pushes. */
+        INVALID
+    }
+
+    public static final int SIZE = 1024;
+
+    private static final String[] APPS = {"api", "cass", "nccp", "merchweb", "videometadata", "edgeproxy", "zuul",
+        "discovery", "evcache", "recommendations"};
+    private static final String[] STACKS = {"prod", "test", "staging", "canary", "baseline", "green", "blue", "dev"};
+    private static final String[] WORDS = {"us", "east", "west", "eu", "blue", "green", "baseline", "canary",
+        "experiment", "a", "b", "c", "roku", "ps4", "android", "ios", "web", "1", "2", "rc", "shadow", "tvui"};
+    private static final String[] LABELS = {"c0northamerica", "c0us", "d0prod", "d0test", "h0m3", "h0r4", "p0vendor",
+        "r27", "r1", "u0nccp", "u0api", "w0A", "w0B", "z0useast1a", "z0euwest1b"};
+    private static final String[] PACKAGES = {"helloworld", "api-server", "nf-cassandra", "merch_web", "zuul", "sub"};
+    private static final String[] JOBS = {"WE-WAPP-helloworld", "mybuild", "api-server-master", "CASS-build",
+        "zuul_release"};
+
+    private NameCorpus() {
+    }
+
+    /**
+     * @param kind the shape of the names
+     * @return SIZE auto scaling group names of that shape
+     */
+    public static String[] groupNames(Kind kind) {
+        Random random = new Random(42 + kind.ordinal());
+        String[] names = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            names[i] = groupName(kind, random);
+        }
+        return names;
+    }
+
+    private static String groupName(Kind kind, Random random) {
+        StringBuilder name = new StringBuilder(pick(random, APPS));
+        switch (kind) {
+            case SHORT:
+                if (random.nextBoolean()) {
+                    name.append('-').append(pick(random, STACKS));
+                }
+                break;
+            case LONG_DETAIL:
+                name.append('-').append(pick(random, STACKS));
+                appendWords(name, random, 4 + random.nextInt(8));
+                break;
+            case LABELED_VARIABLES:
+                name.append('-').append(pick(random, STACKS));
+                appendWords(name, random, random.nextInt(3));
+                for (int i = 1 + random.nextInt(6); i > 0; i--) {
+                    name.append('-').append(pick(random, LABELS));
+                }
+                break;
+            case MANY_SHARDS:
+                name.append('-').append(pick(random, STACKS)).append('-');
+                int shards = 5 + random.nextInt(20);
+                for (int i = 1; i <= shards; i++) {
+                    name.append('x').append(1 + random.nextInt(shards)).append(pick(random, WORDS)).append('-');
+                }
+                name.append(pick(random, WORDS));
+                if (random.nextBoolean()) {
+                    name.append('-').append(pick(random, LABELS));
+                }
+                break;
+            case INVALID:
+                return invalidName(name, random);
+            default:
+                throw new IllegalArgumentException(kind.name());
+        }
+        if (random.nextInt(4) != 0) {
+            name.append(String.format("-v%03d", random.nextInt(1000)));
+        }
+        return name.toString();
+    }
+
+    private static String invalidName(StringBuilder name, Random random) {
+        switch (random.nextInt(8)) {
+            case 0:
+                return name.append("%27-").append(pick(random, STACKS)).toString();
+            case 1:
+                return name.append(' ').append(pick(random, STACKS)).append("-v001").toString();
+            case 2:
+                return "-" + name.append('-').append(pick(random, STACKS));
+            case 3:
+                for (int i = 0; i < 64; i++) {
+                    name.append('-');
+                }
+                return name.append("v001").toString();
+            case 4:
+                return name.append('-').append(pick(random, STACKS)).append("-v12").toString();
+            case 5:
+                return name.append('-').append(pick(random, STACKS)).append("-v0000001").toString();
+            case 6:
+                name.append('-').append(pick(random, STACKS));
+                for (int i = 0; i < 32; i++) {
+                    name.append("-x0").append(pick(random, WORDS)).append("-c0");
+                }
+                return name.toString();
+            default:
+                return name.append("-\u00e9t\u00e9\n-").append(pick(random, LABELS)).toString();
+        }
+    }
+
+    /**
+     * @param adversarial true for inputs that don't parse, including the long hyphenated runs that force regular
+     *                    expressions to backtrack
+     * @return SIZE app version strings as found in image descriptions
+     */
+    public static String[] appVersions(boolean adversarial) {
+        Random random = new Random(adversarial ? 7 : 6);
+        String[] versions = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            StringBuilder version = new StringBuilder(pick(random, PACKAGES)).append('-');
+            version.append(random.nextInt(4)).append('.').append(random.nextInt(20)).append('.')
+                    .append(random.nextInt(100));
+            if (adversarial) {
+                for (int j = 8 + random.nextInt(32); j > 0; j--) {
+                    version.append('-').append(random.nextInt(10));
+                }
+                version.append(random.nextBoolean() ? "-h" : "-h12.").append('/');
+            } else {
+                if (random.nextInt(4) == 0) {
+                    version.append("~dev.").append(random.nextInt(10)).append(".uncommitted");
+                }
+                int build = random.nextInt(2000);
+                if (random.nextInt(4) == 0) {
+                    // Perforce changelist, which is never followed by a commit
+                    version.append('-').append(500000 + random.nextInt(100000)).append(".h").append(build);
+                } else {
+                    version.append("-h").append(build);
+                    if (random.nextBoolean()) {
+                        version.append('.').append(Integer.toHexString(random.nextInt()));
+                    }
+                }
+                version.append('/').append(pick(random, JOBS)).append('/').append(build);
+            }
+            versions[i] = version.toString();
+        }
+        return versions;
+    }
+
+    /**
+     * @param adversarial true for long descriptions with many near miss keys and no dates
+     * @return SIZE image descriptions naming a base AMI or an ancestor
+     */
+    public static String[] amiDescriptions(boolean adversarial) {
+        Random random = new Random(adversarial ? 9 : 8);
+        String[] descriptions = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            StringBuilder description = new StringBuilder();
+            String id = String.format("ami-%08x", random.nextInt());
+            String date = String.format("20%02d%02d%02d", 10 + random.nextInt(15), 1 + random.nextInt(12),
+                    1 + random.nextInt(28));
+            if (adversarial) {
+                for (int j = 16 + random.nextInt(32); j > 0; j--) {
+                    description.append(random.nextBoolean() ? "base_ami_" : "ancestor_").append(pick(random, WORDS))
+                            .append('=').append(pick(random, WORDS)).append(',');
+                }
+                description.append("ancestor_name=").append(pick(random, PACKAGES));
+            } else if (random.nextBoolean()) {
+                description.append("name=").append(pick(random, PACKAGES)).append(", arch=x86_64, ancestor_name=")
+                        .append("xenialbase-x86_64-").append(date).append("-ebs, ancestor_id=").append(id)
+                        .append(", ancestor_version=nflx-base-5.").append(random.nextInt(400)).append(".0-h")
+                        .append(random.nextInt(2000));
+            } else {
+                description.append("base_ami_id=").append(id).append(",base_ami_name=servicenet-roku-qadd.dc.")
+                        .append(date).append('.').append(random.nextInt(100));
+            }
+            descriptions[i] = description.toString();
+        }
+        return descriptions;
+    }
+
+    private static void appendWords(StringBuilder name, Random random, int count) {
+        if (count > 0) {
+            name.append('-').append(pick(random, WORDS));
+            for (int i = 1; i < count; i++) {
+                name.append(random.nextBoolean() ? '-' : '_').append(pick(random, WORDS));
+            }
+        }
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
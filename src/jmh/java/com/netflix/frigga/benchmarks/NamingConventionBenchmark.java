@@ -0,0 +1,91 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.benchmarks;
+
+import com.netflix.frigga.conventions.labeledvariables.LabeledVariablesNamingConvention;
+import com.netflix.frigga.conventions.labeledvariables.LabeledVariablesNamingResult;
+import com.netflix.frigga.conventions.sharding.ShardingNamingConvention;
+import com.netflix.frigga.conventions.sharding.ShardingNamingResult;
+import com.netflix.frigga.extensions.NamingConventionPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the naming conventions to one name per operation, cycling through a corpus of names. Conventions are
+ * applied to the whole name, as {@code Names} does for labeled variables.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class NamingConventionBenchmark {
+
+    @Param
+    public NameCorpus.Kind corpus;
+
+    private final ShardingNamingConvention sharding = new ShardingNamingConvention();
+    private final LabeledVariablesNamingConvention labeledVariables = new LabeledVariablesNamingConvention();
+    private final NamingConventionPipeline pipeline = NamingConventionPipeline.of(sharding, labeledVariables);
+
+    private String[] names;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        names = NameCorpus.groupNames(corpus);
+    }
+
+    private String nextName() {
+        return names[next++ & (NameCorpus.SIZE - 1)];
+    }
+
+    @Benchmark
+    public ShardingNamingResult sharding() {
+        return sharding.extractNamingConvention(nextName());
+    }
+
+    @Benchmark
+    public LabeledVariablesNamingResult labeledVariables() {
+        return labeledVariables.extractNamingConvention(nextName());
+    }
+
+    /**
+     * Chains the two conventions by hand, for comparison with {@link #pipeline()}.
+     */
+    @Benchmark
+    public LabeledVariablesNamingResult shardingThenLabeledVariables() {
+        String unprocessed = sharding.extractNamingConvention(nextName()).getUnprocessed();
+        return labeledVariables.extractNamingConvention(unprocessed);
+    }
+
+    @Benchmark
+    public NamingConventionPipeline.Result pipeline() {
+        return pipeline.extractNamingConvention(nextName());
+    }
+}
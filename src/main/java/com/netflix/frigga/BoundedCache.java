@@ -0,0 +1,227 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Thread-safe cache holding at most a fixed number of entries, with hit, miss, and eviction counts. Backs the caches of
+ * parsed names and of naming convention results. Keys and values must not be null.
+ *
+ * Large caches are split into independently locked segments to reduce contention, each evicting on its own, so the
+ * eviction order is only exact within a segment. Values are loaded outside of any lock, and when two threads race to
+ * load the same key the first value stored wins.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class BoundedCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+    /** Odd constant close to 2^32 divided by the golden ratio, which spreads any hash into the high bits. */
+    private static final int SPREAD = 0x9E3779B9;
+
+    private final int maximumSize;
+    private final boolean accessOrder;
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final int segmentShift;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maximumSize maximum number of entries to hold
+     * @param accessOrder true to evict the least recently used entry, false to evict the oldest entry
+     */
+    public BoundedCache(int maximumSize, boolean accessOrder) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be greater than 0");
+        }
+        this.maximumSize = maximumSize;
+        this.accessOrder = accessOrder;
+
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && segmentCount * 2 * MIN_SEGMENT_CAPACITY <= maximumSize) {
+            segmentCount *= 2;
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Segment[] segments = (Segment[]) new BoundedCache.Segment[segmentCount];
+        this.segments = segments;
+        segmentMask = segmentCount - 1;
+        segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        int remaining = maximumSize;
+        for (int i = 0; i < segmentCount; i++) {
+            // Spread the capacity so that the segment capacities add up to exactly maximumSize
+            int capacity = remaining / (segmentCount - i);
+            segments[i] = new Segment(capacity);
+            remaining -= capacity;
+        }
+    }
+
+    /**
+     * Returns the value cached for the key, loading and caching it if there is none.
+     *
+     * @param key the key to look up
+     * @param loader computes the value of a key that isn't cached, must not return null
+     * @return the cached value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Segment segment = segmentFor(key);
+        V value = segment.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        V loaded = loader.apply(key);
+        if (loaded == null) {
+            throw new NullPointerException("ERROR: Trying to cache a null value");
+        }
+        return segment.putIfAbsent(key, loaded);
+    }
+
+    /**
+     * Caches the value unless the key already has one. Does not count as a hit or a miss.
+     *
+     * @param key the key to cache the value under
+     * @param value the value to cache
+     * @return the value now cached for the key, which is the existing one if there was one
+     */
+    public V putIfAbsent(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException("ERROR: Trying to cache a null value");
+        }
+        return segmentFor(key).putIfAbsent(key, value);
+    }
+
+    /**
+     * Removes every entry. Statistics are left untouched.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return the number of entries currently cached
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return true if the least recently used entry is evicted first, false if the oldest entry is
+     */
+    public boolean isAccessOrder() {
+        return accessOrder;
+    }
+
+    /**
+     * @return the number of lookups answered with a cached value
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that had to load the value
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries removed to keep the cache within its maximum size
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private Segment segmentFor(K key) {
+        return segments[segmentIndex(key.hashCode())];
+    }
+
+    /**
+     * Picks the segment from the high bits of the scrambled hash. Each segment's map picks its bucket from the low bits
+     * of the hash, so taking the segment from those as well would leave most buckets of every segment unused.
+     */
+    int segmentIndex(int hash) {
+        // With a single segment the shift is 32, which Java treats as 0, so the mask is needed to keep the index at 0
+        return ((hash * SPREAD) >>> segmentShift) & segmentMask;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedCache{" +
+            "maximumSize=" + maximumSize +
+            ", accessOrder=" + accessOrder +
+            ", size=" + size() +
+            ", hits=" + getHitCount() +
+            ", misses=" + getMissCount() +
+            ", evictions=" + getEvictionCount() +
+            '}';
+    }
+
+    private final class Segment {
+        private final Map<K, V> entries;
+
+        private Segment(final int capacity) {
+            entries = new LinkedHashMap<K, V>(16, 0.75f, accessOrder) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized V get(K key) {
+            return entries.get(key);
+        }
+
+        synchronized V putIfAbsent(K key, V value) {
+            V existing = entries.putIfAbsent(key, value);
+            return existing != null ? existing : value;
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
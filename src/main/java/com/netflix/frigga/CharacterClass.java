@@ -0,0 +1,142 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga;
+
+/**
+ * An ASCII character class precomputed into a 128 bit lookup table, built from the body of a regular expression
+ * character class such as {@link NameConstants#NAME_CHARS}. Only literal characters, ranges, and backslash escapes
+ * are supported, which is all the naming constants use.
+ *
+ * Also holds the line terminator test shared by the hand-written scanners that replaced regular expressions, since
+ * '.' in those expressions never matched a line terminator.
+ */
+public final class CharacterClass {
+
+    static final CharacterClass NAME_CHARS = parse(NameConstants.NAME_CHARS);
+    static final CharacterClass EXTENDED_NAME_CHARS = parse(NameConstants.EXTENDED_NAME_CHARS);
+    static final CharacterClass NAME_HYPHEN_CHARS = parse(NameConstants.NAME_HYPHEN_CHARS);
+    public static final CharacterClass LABELED_VAR_VALUES = parseBracketed(NameConstants.LABELED_VAR_VALUES);
+
+    private final long low;
+    private final long high;
+
+    private CharacterClass(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * @param classBody the contents of a regular expression character class, without the enclosing brackets
+     * @return the lookup table for the characters in the class
+     */
+    static CharacterClass parse(String classBody) {
+        long low = 0;
+        long high = 0;
+        int i = 0;
+        while (i < classBody.length()) {
+            char first = classBody.charAt(i);
+            if (first == '\\') {
+                first = charAt(classBody, ++i);
+            }
+            i++;
+            char last = first;
+            if (i + 1 < classBody.length() && classBody.charAt(i) == '-') {
+                last = classBody.charAt(i + 1);
+                if (last == '\\') {
+                    last = charAt(classBody, i + 2);
+                    i++;
+                }
+                i += 2;
+            }
+            if (last < first || last >= 128) {
+                throw new IllegalArgumentException(String.format("Unsupported character class '%s'", classBody));
+            }
+            for (char c = first; c <= last; c++) {
+                if (c < 64) {
+                    low |= 1L << c;
+                } else {
+                    high |= 1L << (c - 64);
+                }
+            }
+        }
+        return new CharacterClass(low, high);
+    }
+
+    /**
+     * @param characterClass a regular expression character class, including the enclosing brackets
+     * @return the lookup table for the characters in the class
+     */
+    static CharacterClass parseBracketed(String characterClass) {
+        if (characterClass.length() < 2 || characterClass.charAt(0) != '['
+                || characterClass.charAt(characterClass.length() - 1) != ']') {
+            throw new IllegalArgumentException(String.format("Unsupported character class '%s'", characterClass));
+        }
+        return parse(characterClass.substring(1, characterClass.length() - 1));
+    }
+
+    private static char charAt(String classBody, int index) {
+        if (index >= classBody.length()) {
+            throw new IllegalArgumentException(String.format("Unsupported character class '%s'", classBody));
+        }
+        return classBody.charAt(index);
+    }
+
+    public boolean contains(char c) {
+        if (c < 64) {
+            return (low & (1L << c)) != 0;
+        }
+        return c < 128 && (high & (1L << (c - 64))) != 0;
+    }
+
+    /**
+     * @param c the character to check
+     * @return true if c is one of the line terminators that '.' in a regular expression does not match
+     */
+    public static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * @param chars the characters to check
+     * @param start index of the first character to check
+     * @param end index after the last character to check
+     * @return true if any character between start and end is a line terminator
+     */
+    public static boolean containsLineTerminator(CharSequence chars, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (isLineTerminator(chars.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param input the characters to check, may be null
+     * @return true if input is non-null, non-empty, and made up only of characters in this class
+     */
+    boolean matchesAll(CharSequence input) {
+        if (input == null || input.length() == 0) {
+            return false;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            if (!contains(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
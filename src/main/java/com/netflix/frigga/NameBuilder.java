@@ -15,6 +15,8 @@
  */
 package com.netflix.frigga;
 
+import java.io.IOException;
+
 /**
  * Abstract class for classes in charge of constructing Asgard names.
  */
@@ -33,4 +35,35 @@ public abstract class NameBuilder {
         return appName;
     }
 
+    /**
+     * Same as {@code combineAppStackDetail}, but appends the combined name to target instead of creating a String.
+     */
+    protected <A extends Appendable> A appendAppStackDetail(A target, String appName, String stack, String detail)
+            throws IOException {
+        NameValidation.notEmpty(appName, "appName");
+        target.append(appName);
+        boolean hasDetail = detail != null && !detail.isEmpty();
+        if (hasDetail || (stack != null && !stack.isEmpty())) {
+            target.append('-');
+            if (stack != null) {
+                target.append(stack);
+            }
+        }
+        if (hasDetail) {
+            target.append('-').append(detail);
+        }
+        return target;
+    }
+
+    /**
+     * @return the length of the name {@code combineAppStackDetail} would return
+     */
+    protected int appStackDetailLength(String appName, String stack, String detail) {
+        int stackLength = stack != null ? stack.length() : 0;
+        if (detail != null && !detail.isEmpty()) {
+            return appName.length() + 1 + stackLength + 1 + detail.length();
+        }
+        return stackLength > 0 ? appName.length() + 1 + stackLength : appName.length();
+    }
+
 }
@@ -34,16 +34,19 @@ public interface NameConstants {
     String RED_BLACK_SWAP_KEY = "w";
     String ZONE_KEY = "z";
 
-    String EXISTING_LABELS = "["
-        + COUNTRIES_KEY
+    /**
+     * The label keys, in the order of the LabeledVariables constructor arguments.
+     */
+    String LABEL_KEYS = COUNTRIES_KEY
         + DEV_PHASE_KEY
         + HARDWARE_KEY
         + PARTNERS_KEY
         + REVISION_KEY
         + USED_BY_KEY
         + RED_BLACK_SWAP_KEY
-        + ZONE_KEY
-        + "]";
+        + ZONE_KEY;
+
+    String EXISTING_LABELS = "[" + LABEL_KEYS + "]";
 
     String LABELED_VAR_SEPARATOR = "0";
     String LABELED_VAR_VALUES = "[a-zA-Z0-9]";
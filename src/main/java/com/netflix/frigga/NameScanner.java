@@ -0,0 +1,261 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga;
+
+/**
+ * Hand-written, single pass replacement for the regular expressions historically used by {@link Names}:
+ *
+ * <pre>
+ * PUSH_PATTERN = ^([NAME_HYPHEN_CHARS]*)-(v([0-9]{3,6}))$
+ * NAME_PATTERN = ^([NAME_CHARS]+)(?:-([NAME_CHARS]*)(?:-([NAME_HYPHEN_CHARS]*?))?)?$
+ * </pre>
+ *
+ * The push suffix is located by inspecting at most the last eight characters, then the cluster portion is walked
+ * once from left to right. Components are recorded as offsets into the scanned input so that callers decide which
+ * substrings, if any, to materialize. Instances are mutable and not thread-safe, but may be reused across calls.
+ */
+final class NameScanner {
+
+    private static final int MIN_SEQUENCE_DIGITS = 3;
+    private static final int MAX_SEQUENCE_DIGITS = 6;
+
+    private int length;
+    private int clusterEnd;
+    private int appEnd;
+    private int stackStart;
+    private int stackEnd;
+    private int detailStart;
+    private int detailEnd;
+    private int pushStart;
+    private int sequence;
+    private boolean matched;
+    private boolean valid;
+
+    /**
+     * Scans the name, replacing any state left over from a previous call.
+     *
+     * @param name the name to scan, may be null
+     * @return true if the name could be broken down into its component parts
+     */
+    boolean scan(CharSequence name) {
+        reset();
+        if (name == null) {
+            return false;
+        }
+        length = name.length();
+
+        boolean hasPushSuffix = scanPushSuffix(name);
+        clusterEnd = hasPushSuffix ? pushStart - 1 : length;
+
+        int state = 0; // 0 = app, 1 = stack, 2 = detail, -1 = not a valid app-stack-detail
+        boolean hyphenChars = true;
+        for (int i = 0; i < clusterEnd; i++) {
+            char c = name.charAt(i);
+            if (!isNameHyphenChar(c)) {
+                hyphenChars = false;
+                state = -1;
+                break;
+            }
+            if (state == 0) {
+                if (c == '-') {
+                    if (i == 0) {
+                        state = -1;
+                    } else {
+                        appEnd = i;
+                        stackStart = i + 1;
+                        state = 1;
+                    }
+                } else if (!isNameChar(c)) {
+                    state = -1;
+                }
+            } else if (state == 1) {
+                if (c == '-') {
+                    stackEnd = i;
+                    detailStart = i + 1;
+                    state = 2;
+                } else if (!isNameChar(c)) {
+                    state = -1;
+                }
+            }
+        }
+
+        if (hasPushSuffix && !hyphenChars) {
+            // PUSH_PATTERN does not match, and the same invalid character also prevents NAME_PATTERN from matching
+            pushStart = -1;
+            sequence = -1;
+            clusterEnd = length;
+            return false;
+        }
+
+        if (state == 0) {
+            appEnd = clusterEnd;
+        } else if (state == 1) {
+            stackEnd = clusterEnd;
+        } else if (state == 2) {
+            detailEnd = clusterEnd;
+        }
+        matched = state >= 0 && clusterEnd > 0;
+        valid = matched || hasPushSuffix;
+        if (!matched) {
+            pushStart = -1;
+            sequence = -1;
+        }
+        return matched;
+    }
+
+    private boolean scanPushSuffix(CharSequence name) {
+        int push = findPushSuffix(name);
+        if (push < 1 || name.charAt(push - 1) != '-') {
+            return false;
+        }
+        int value = 0;
+        for (int i = push + 1; i < length; i++) {
+            value = value * 10 + (name.charAt(i) - '0');
+        }
+        pushStart = push;
+        sequence = value;
+        return true;
+    }
+
+    /**
+     * Finds a push version, as in {@link NameConstants#PUSH_FORMAT}, at the very end of a name. Unlike a push suffix
+     * of a parsed name, it need not be preceded by a hyphen.
+     *
+     * @param name the name to inspect
+     * @return the index of the 'v' of the push version, or -1 if the name does not end with one
+     */
+    static int findPushSuffix(CharSequence name) {
+        int length = name.length();
+        int digitsStart = length;
+        while (digitsStart > 0 && length - digitsStart <= MAX_SEQUENCE_DIGITS) {
+            char c = name.charAt(digitsStart - 1);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            digitsStart--;
+        }
+        int digits = length - digitsStart;
+        if (digits < MIN_SEQUENCE_DIGITS || digits > MAX_SEQUENCE_DIGITS || digitsStart < 1
+                || name.charAt(digitsStart - 1) != 'v') {
+            return -1;
+        }
+        return digitsStart - 1;
+    }
+
+    /**
+     * @param name the name holding the region
+     * @param start index of the first character of the region
+     * @param end index after the last character of the region
+     * @return true if the region is exactly a push version, 'v' followed by 3 to 6 digits
+     */
+    static boolean isPushVersion(CharSequence name, int start, int end) {
+        int digits = end - start - 1;
+        if (digits < MIN_SEQUENCE_DIGITS || digits > MAX_SEQUENCE_DIGITS || name.charAt(start) != 'v') {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void reset() {
+        length = 0;
+        clusterEnd = 0;
+        appEnd = 0;
+        stackStart = 0;
+        stackEnd = 0;
+        detailStart = 0;
+        detailEnd = 0;
+        pushStart = -1;
+        sequence = -1;
+        matched = false;
+        valid = false;
+    }
+
+    /**
+     * @return true if the last scanned name could be broken down into its component parts
+     */
+    boolean isMatched() {
+        return matched;
+    }
+
+    /**
+     * @return true if the last scanned name is either a valid cluster name or a valid cluster name with a push suffix
+     */
+    boolean isValid() {
+        return valid;
+    }
+
+    int getLength() {
+        return length;
+    }
+
+    int getClusterEnd() {
+        return clusterEnd;
+    }
+
+    int getAppEnd() {
+        return appEnd;
+    }
+
+    /**
+     * @return start of the stack, or -1 if the name has no stack or an empty stack
+     */
+    int getStackStart() {
+        return stackEnd > stackStart ? stackStart : -1;
+    }
+
+    int getStackEnd() {
+        return stackEnd;
+    }
+
+    /**
+     * @return start of the detail, or -1 if the name has no detail or an empty detail
+     */
+    int getDetailStart() {
+        return detailEnd > detailStart ? detailStart : -1;
+    }
+
+    int getDetailEnd() {
+        return detailEnd;
+    }
+
+    /**
+     * @return start of the push (the 'v' of "v000"), or -1 if the name has no push
+     */
+    int getPushStart() {
+        return pushStart;
+    }
+
+    /**
+     * @return the push sequence number, or -1 if the name has no push
+     */
+    int getSequence() {
+        return sequence;
+    }
+
+    private static boolean isNameChar(char c) {
+        return CharacterClass.NAME_CHARS.contains(c);
+    }
+
+    private static boolean isNameHyphenChar(char c) {
+        return CharacterClass.NAME_HYPHEN_CHARS.contains(c);
+    }
+}
@@ -0,0 +1,311 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga;
+
+/**
+ * Precompiled form of the name builders for rendering many names that share an app, stack, and labeled variables.
+ * The fixed parts are validated once, when the template is built, and rendered into a prefix and a suffix up front,
+ * so that each name only validates and appends the parts that vary: the detail, the zone, and the push sequence.
+ *
+ * Group names are the same as those built by the AutoScalingGroupNameBuilder with validation turned on. Load balancer
+ * names are the same as those built by the LoadBalancerNameBuilder, which does not validate, but the template rejects
+ * invalid parts just as it does for group names. Templates are immutable and may be shared between threads.
+ */
+public final class NameTemplate {
+
+    private static final int MAX_SEQUENCE = 999999;
+
+    private final String appName;
+    private final String stack;
+    private final String countries;
+    private final String devPhase;
+    private final String hardware;
+    private final String partners;
+    private final String revision;
+    private final String usedBy;
+    private final String redBlackSwap;
+
+    /** "app-stack", used when there is a detail to follow, even if the stack is empty. */
+    private final String detailPrefix;
+    /** "app-stack" or "app", used when there is no detail. */
+    private final String appStack;
+    /** The labeled variables other than the zone, each preceded by a hyphen. */
+    private final String labeledVariables;
+
+    private NameTemplate(Builder builder) {
+        appName = builder.appName;
+        stack = builder.stack;
+        countries = builder.countries;
+        devPhase = builder.devPhase;
+        hardware = builder.hardware;
+        partners = builder.partners;
+        revision = builder.revision;
+        usedBy = builder.usedBy;
+        redBlackSwap = builder.redBlackSwap;
+
+        String stackOrEmpty = stack != null ? stack : "";
+        detailPrefix = appName + "-" + stackOrEmpty + "-";
+        appStack = stackOrEmpty.isEmpty() ? appName : appName + "-" + stackOrEmpty;
+        StringBuilder vars = new StringBuilder();
+        appendIfSpecified(vars, NameConstants.COUNTRIES_KEY, countries);
+        appendIfSpecified(vars, NameConstants.DEV_PHASE_KEY, devPhase);
+        appendIfSpecified(vars, NameConstants.HARDWARE_KEY, hardware);
+        appendIfSpecified(vars, NameConstants.PARTNERS_KEY, partners);
+        appendIfSpecified(vars, NameConstants.REVISION_KEY, revision);
+        appendIfSpecified(vars, NameConstants.USED_BY_KEY, usedBy);
+        appendIfSpecified(vars, NameConstants.RED_BLACK_SWAP_KEY, redBlackSwap);
+        labeledVariables = vars.toString();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Constructs the name of an auto scaling group cluster, without a push.
+     *
+     * @param detail the detail, may be null
+     * @param zoneVar the zone labeled variable, may be null
+     * @return auto scaling group name
+     */
+    public String buildGroupName(String detail, String zoneVar) {
+        return appendGroupName(new StringBuilder(), detail, zoneVar, -1).toString();
+    }
+
+    /**
+     * Constructs the name of an auto scaling group with a push suffix such as "-v003".
+     *
+     * @param detail the detail, may be null
+     * @param zoneVar the zone labeled variable, may be null
+     * @param sequence the push sequence number, between 0 and 999999
+     * @return auto scaling group name
+     */
+    public String buildGroupName(String detail, String zoneVar, int sequence) {
+        if (sequence < 0) {
+            throw new IllegalArgumentException("sequence cannot be negative");
+        }
+        return appendGroupName(new StringBuilder(), detail, zoneVar, sequence).toString();
+    }
+
+    /**
+     * Same as {@code buildGroupName}, but appends the name to a caller supplied buffer, growing it at most once.
+     *
+     * @param target the buffer to append the name to
+     * @param detail the detail, may be null
+     * @param zoneVar the zone labeled variable, may be null
+     * @param sequence the push sequence number, or -1 for no push
+     * @return target
+     */
+    public StringBuilder appendGroupName(StringBuilder target, String detail, String zoneVar, int sequence) {
+        boolean hasDetail = detail != null && !detail.isEmpty();
+        boolean hasZone = zoneVar != null && !zoneVar.isEmpty();
+        if (hasDetail) {
+            validateDetail(detail);
+        }
+        if (hasZone && !NameValidation.checkName(zoneVar)) {
+            throw new IllegalArgumentException("(Use alphanumeric characters only)");
+        }
+        if (sequence > MAX_SEQUENCE) {
+            throw new IllegalArgumentException("sequence cannot be greater than " + MAX_SEQUENCE);
+        }
+
+        int length = (hasDetail ? detailPrefix.length() + detail.length() : appStack.length())
+                + labeledVariables.length();
+        if (hasZone) {
+            length += 1 + NameConstants.ZONE_KEY.length() + NameConstants.LABELED_VAR_SEPARATOR.length()
+                    + zoneVar.length();
+        }
+        if (sequence >= 0) {
+            length += 8;
+        }
+        target.ensureCapacity(target.length() + length);
+
+        if (hasDetail) {
+            target.append(detailPrefix).append(detail);
+        } else {
+            target.append(appStack);
+        }
+        target.append(labeledVariables);
+        appendIfSpecified(target, NameConstants.ZONE_KEY, zoneVar);
+        if (sequence >= 0) {
+            target.append("-v");
+            if (sequence < 100) {
+                target.append(sequence < 10 ? "00" : "0");
+            }
+            target.append(sequence);
+        }
+        return target;
+    }
+
+    /**
+     * Constructs the name of a load balancer. Load balancer names carry no labeled variables, only the app, stack,
+     * and detail.
+     *
+     * @param detail the detail, may be null
+     * @return load balancer name
+     */
+    public String buildLoadBalancerName(String detail) {
+        if (detail != null && !detail.isEmpty()) {
+            validateDetail(detail);
+            return detailPrefix + detail;
+        }
+        return appStack;
+    }
+
+    private static void validateDetail(String detail) {
+        if (!NameValidation.checkNameWithHyphen(detail)) {
+            throw new IllegalArgumentException("(Use alphanumeric characters only)");
+        }
+        if (NameValidation.containsPushVersion(detail)) {
+            throw new IllegalArgumentException("detail cannot contain a push version");
+        }
+    }
+
+    private static void appendIfSpecified(StringBuilder target, String key, String value) {
+        if (value != null && !value.isEmpty()) {
+            target.append('-').append(key).append(NameConstants.LABELED_VAR_SEPARATOR).append(value);
+        }
+    }
+
+    public String getAppName() {
+        return appName;
+    }
+
+    public String getStack() {
+        return stack;
+    }
+
+    public String getCountries() {
+        return countries;
+    }
+
+    public String getDevPhase() {
+        return devPhase;
+    }
+
+    public String getHardware() {
+        return hardware;
+    }
+
+    public String getPartners() {
+        return partners;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    public String getUsedBy() {
+        return usedBy;
+    }
+
+    public String getRedBlackSwap() {
+        return redBlackSwap;
+    }
+
+    @Override
+    public String toString() {
+        return "NameTemplate{" +
+            "appName='" + appName + '\'' +
+            ", stack='" + stack + '\'' +
+            ", labeledVariables='" + labeledVariables + '\'' +
+            '}';
+    }
+
+    /**
+     * Collects and validates the fixed parts of a {@link NameTemplate}.
+     */
+    public static final class Builder {
+
+        private String appName;
+        private String stack;
+        private String countries;
+        private String devPhase;
+        private String hardware;
+        private String partners;
+        private String revision;
+        private String usedBy;
+        private String redBlackSwap;
+
+        private Builder() {
+        }
+
+        public Builder withAppName(String appName) {
+            this.appName = appName;
+            return this;
+        }
+
+        public Builder withStack(String stack) {
+            this.stack = stack;
+            return this;
+        }
+
+        public Builder withCountries(String countries) {
+            this.countries = countries;
+            return this;
+        }
+
+        public Builder withDevPhase(String devPhase) {
+            this.devPhase = devPhase;
+            return this;
+        }
+
+        public Builder withHardware(String hardware) {
+            this.hardware = hardware;
+            return this;
+        }
+
+        public Builder withPartners(String partners) {
+            this.partners = partners;
+            return this;
+        }
+
+        public Builder withRevision(String revision) {
+            this.revision = revision;
+            return this;
+        }
+
+        public Builder withUsedBy(String usedBy) {
+            this.usedBy = usedBy;
+            return this;
+        }
+
+        public Builder withRedBlackSwap(String redBlackSwap) {
+            this.redBlackSwap = redBlackSwap;
+            return this;
+        }
+
+        /**
+         * Validates the fixed parts and compiles them into a template.
+         *
+         * @return the template
+         * @throws IllegalArgumentException if the app name is missing or any part is not a valid name
+         */
+        public NameTemplate build() {
+            NameValidation.notEmpty(appName, "appName");
+            for (String name : new String[] {appName, stack, countries, devPhase, hardware, partners, revision,
+                    usedBy, redBlackSwap}) {
+                if (name != null && !name.isEmpty() && !NameValidation.checkName(name)) {
+                    throw new IllegalArgumentException("(Use alphanumeric characters only)");
+                }
+            }
+            if (stack != null && !stack.isEmpty() && NameValidation.containsPushVersion(stack)) {
+                throw new IllegalArgumentException("stack cannot contain a push version");
+            }
+            return new NameTemplate(this);
+        }
+    }
+}
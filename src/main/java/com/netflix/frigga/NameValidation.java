@@ -15,19 +15,18 @@
  */
 package com.netflix.frigga;
 
-import java.util.regex.Pattern;
+import java.util.BitSet;
+import java.util.List;
 
 /**
  * Contains static validation methods for checking if a name conforms to Asgard naming standards.
+ *
+ * Character checks use lookup tables derived from {@link NameConstants}, so each check is a single pass over the
+ * input that does not allocate.
  */
 public class NameValidation {
 
-    private static final Pattern NAME_HYPHEN_CHARS_PATTERN =
-            Pattern.compile("^[" + NameConstants.NAME_HYPHEN_CHARS + "]+");
-    private static final Pattern NAME_CHARS_PATTERN = Pattern.compile("^[" + NameConstants.NAME_CHARS + "]+");
-    private static final Pattern PUSH_FORMAT_PATTERN = Pattern.compile(".*?" + NameConstants.PUSH_FORMAT);
-    private static final Pattern LABELED_VARIABLE_PATTERN =
-            Pattern.compile("^(.*?-)?" + NameConstants.LABELED_VARIABLE + ".*?$");
+    private static final char LABELED_VAR_SEPARATOR = NameConstants.LABELED_VAR_SEPARATOR.charAt(0);
 
     private NameValidation() { }
 
@@ -55,7 +54,17 @@ public class NameValidation {
      * @return true if the name is valid
      */
     public static boolean checkName(String name) {
-        return checkMatch(name, NAME_CHARS_PATTERN);
+        return CharacterClass.NAME_CHARS.matchesAll(name);
+    }
+
+    /**
+     * Same as {@code checkName(String)}, for any character sequence.
+     *
+     * @param name the characters to validate
+     * @return true if the name is valid
+     */
+    public static boolean checkName(CharSequence name) {
+        return CharacterClass.NAME_CHARS.matchesAll(name);
     }
 
     /**
@@ -66,7 +75,17 @@ public class NameValidation {
      * @return true if the name is valid
      */
     public static boolean checkNameWithHyphen(String name) {
-        return checkMatch(name, NAME_HYPHEN_CHARS_PATTERN);
+        return CharacterClass.NAME_HYPHEN_CHARS.matchesAll(name);
+    }
+
+    /**
+     * Same as {@code checkNameWithHyphen(String)}, for any character sequence.
+     *
+     * @param name the characters to validate
+     * @return true if the name is valid
+     */
+    public static boolean checkNameWithHyphen(CharSequence name) {
+        return CharacterClass.NAME_HYPHEN_CHARS.matchesAll(name);
     }
 
     /**
@@ -80,7 +99,7 @@ public class NameValidation {
      */
     @Deprecated
     public static boolean checkDetail(String detail) {
-        return checkMatch(detail, NAME_HYPHEN_CHARS_PATTERN);
+        return CharacterClass.NAME_HYPHEN_CHARS.matchesAll(detail);
     }
 
     /**
@@ -91,11 +110,121 @@ public class NameValidation {
      * @return true if the name ends with the reserved format
      */
     public static Boolean usesReservedFormat(String name) {
-        return checkMatch(name, PUSH_FORMAT_PATTERN) || checkMatch(name, LABELED_VARIABLE_PATTERN);
+        return usesReservedFormat((CharSequence) name);
+    }
+
+    /**
+     * Same as {@code usesReservedFormat(String)}, for any character sequence.
+     *
+     * @param name to inspect
+     * @return true if the name ends with the reserved format
+     */
+    public static boolean usesReservedFormat(CharSequence name) {
+        if (name == null) {
+            return false;
+        }
+        int length = name.length();
+        boolean labeledVariable = false;
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            if (CharacterClass.isLineTerminator(c)) {
+                // Neither reserved format may span a line terminator
+                return false;
+            }
+            if (!labeledVariable && (i == 0 || name.charAt(i - 1) == '-') && i + 2 < length
+                    && NameConstants.LABEL_KEYS.indexOf(c) >= 0
+                    && name.charAt(i + 1) == LABELED_VAR_SEPARATOR
+                    && CharacterClass.LABELED_VAR_VALUES.contains(name.charAt(i + 2))) {
+                labeledVariable = true;
+            }
+        }
+        return labeledVariable || NameScanner.findPushSuffix(name) >= 0;
+    }
+
+    /**
+     * Determines whether any hyphen-separated token of a name is a push version such as v000, which would make the
+     * name ambiguous when parsed.
+     *
+     * @param name to inspect
+     * @return true if the name contains a push version
+     */
+    public static boolean containsPushVersion(CharSequence name) {
+        if (name == null) {
+            return false;
+        }
+        int length = name.length();
+        int tokenStart = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || name.charAt(i) == '-') {
+                if (NameScanner.isPushVersion(name, tokenStart, i)) {
+                    return true;
+                }
+                tokenStart = i + 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Validates many names at once with {@code checkName}.
+     *
+     * @param names the names to validate
+     * @return the indexes of the names that are not valid
+     */
+    public static BitSet findInvalidNames(List<? extends CharSequence> names) {
+        return findInvalid(names, CharacterClass.NAME_CHARS);
     }
 
-    private static boolean checkMatch(String input, Pattern pattern) {
-        return input != null && pattern.matcher(input).matches();
+    /**
+     * Validates many names at once with {@code checkName}.
+     *
+     * @param names the names to validate
+     * @return the indexes of the names that are not valid
+     */
+    public static BitSet findInvalidNames(CharSequence[] names) {
+        return findInvalid(names, CharacterClass.NAME_CHARS);
+    }
+
+    /**
+     * Validates many names at once with {@code checkNameWithHyphen}.
+     *
+     * @param names the names to validate
+     * @return the indexes of the names that are not valid
+     */
+    public static BitSet findInvalidNamesWithHyphen(List<? extends CharSequence> names) {
+        return findInvalid(names, CharacterClass.NAME_HYPHEN_CHARS);
+    }
+
+    /**
+     * Validates many names at once with {@code checkNameWithHyphen}.
+     *
+     * @param names the names to validate
+     * @return the indexes of the names that are not valid
+     */
+    public static BitSet findInvalidNamesWithHyphen(CharSequence[] names) {
+        return findInvalid(names, CharacterClass.NAME_HYPHEN_CHARS);
+    }
+
+    private static BitSet findInvalid(List<? extends CharSequence> names, CharacterClass characterClass) {
+        BitSet invalid = new BitSet();
+        int index = 0;
+        for (CharSequence name : names) {
+            if (!characterClass.matchesAll(name)) {
+                invalid.set(index);
+            }
+            index++;
+        }
+        return invalid;
+    }
+
+    private static BitSet findInvalid(CharSequence[] names, CharacterClass characterClass) {
+        BitSet invalid = new BitSet();
+        for (int i = 0; i < names.length; i++) {
+            if (!characterClass.matchesAll(names[i])) {
+                invalid.set(i);
+            }
+        }
+        return invalid;
     }
 
 }
@@ -20,11 +20,13 @@ import com.netflix.frigga.conventions.labeledvariables.LabeledVariablesNamingCon
 import com.netflix.frigga.conventions.labeledvariables.LabeledVariablesNamingResult;
 import com.netflix.frigga.extensions.NamingConvention;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Class that can deconstruct information about AWS Auto Scaling Groups, Load Balancers, Launch Configurations, and
@@ -32,13 +34,15 @@ import java.util.regex.Pattern;
  */
 public class Names {
 
-    private static final Pattern PUSH_PATTERN = Pattern.compile(
-            "^([" + NameConstants.NAME_HYPHEN_CHARS + "]*)-(" + NameConstants.PUSH_FORMAT + ")$");
-    private static final Pattern NAME_PATTERN = Pattern.compile(
-            "^([" + NameConstants.NAME_CHARS + "]+)(?:-([" + NameConstants.NAME_CHARS + "]*)(?:-(["
-                    + NameConstants.NAME_HYPHEN_CHARS + "]*?))?)?$");
-
     private static final LabeledVariablesNamingConvention LABELED_VARIABLES_CONVENTION = new LabeledVariablesNamingConvention();
+    private static final NamesCache SHARED_CACHE = new NamesCache(65536);
+    private static final AtomicReferenceFieldUpdater<Names, LabeledVariablesNamingResult> LABELED_VARIABLES_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(Names.class, LabeledVariablesNamingResult.class, "labeledVariables");
+
+    /**
+     * Number of names below which {@code parseAll} parses on the calling thread, and the size of each parallel chunk.
+     */
+    public static final int DEFAULT_PARALLELISM_THRESHOLD = 4096;
 
     private final String group;
     private final String cluster;
@@ -47,9 +51,18 @@ public class Names {
     private final String detail;
     private final String push;
     private final Integer sequence;
-    private final AtomicReference<LabeledVariablesNamingResult> labeledVariables = new AtomicReference<>();
+    /** Applied lazily, through LABELED_VARIABLES_UPDATER, rather than holding an AtomicReference per instance. */
+    private volatile LabeledVariablesNamingResult labeledVariables;
 
     protected Names(String name) {
+        this(name, scan(name));
+    }
+
+    /**
+     * @param name the name that was scanned
+     * @param scanner a scanner that has already been applied to name
+     */
+    Names(String name, NameScanner scanner) {
         String group = null;
         String cluster = null;
         String app = null;
@@ -57,23 +70,21 @@ public class Names {
         String detail = null;
         String push = null;
         Integer sequence = null;
-        if (name != null && !name.trim().isEmpty()) {
-            Matcher pushMatcher = PUSH_PATTERN.matcher(name);
-            boolean hasPush = pushMatcher.matches();
-            String theCluster = hasPush ? pushMatcher.group(1) : name;
-
-            Matcher nameMatcher = NAME_PATTERN.matcher(theCluster);
-            if (nameMatcher.matches()) {
-                group = name;
-                cluster = theCluster;
-                push = hasPush ? pushMatcher.group(2) : null;
-                String sequenceString = hasPush ? pushMatcher.group(3) : null;
-                if (sequenceString != null) {
-                    sequence = Integer.parseInt(sequenceString);
-                }
-                app = nameMatcher.group(1);
-                stack = checkEmpty(nameMatcher.group(2));
-                detail = checkEmpty(nameMatcher.group(3));
+        if (name != null && scanner.isMatched()) {
+            group = name;
+            // Share the longer string rather than copying it when a component spans all of it
+            int clusterEnd = scanner.getClusterEnd();
+            cluster = clusterEnd == name.length() ? name : name.substring(0, clusterEnd);
+            app = scanner.getAppEnd() == clusterEnd ? cluster : name.substring(0, scanner.getAppEnd());
+            if (scanner.getStackStart() >= 0) {
+                stack = name.substring(scanner.getStackStart(), scanner.getStackEnd());
+            }
+            if (scanner.getDetailStart() >= 0) {
+                detail = name.substring(scanner.getDetailStart(), scanner.getDetailEnd());
+            }
+            if (scanner.getPushStart() >= 0) {
+                push = name.substring(scanner.getPushStart());
+                sequence = scanner.getSequence();
             }
         }
         this.group = group;
@@ -96,6 +107,68 @@ public class Names {
         return new Names(name);
     }
 
+    /**
+     * Parses many names at once, splitting large inputs across the common fork-join pool.
+     *
+     * @param names the names of auto scaling groups, security groups, or load balancers
+     * @return beans containing the component parts of each name, in the same order as the input
+     */
+    public static List<Names> parseAll(List<String> names) {
+        return parseAll(names, ForkJoinPool.commonPool(), DEFAULT_PARALLELISM_THRESHOLD);
+    }
+
+    /**
+     * Parses many names at once, splitting inputs larger than parallelismThreshold across the given pool.
+     *
+     * @param names the names of auto scaling groups, security groups, or load balancers
+     * @param pool the pool to parse in
+     * @param parallelismThreshold the largest number of names parsed by a single task
+     * @return beans containing the component parts of each name, in the same order as the input
+     */
+    public static List<Names> parseAll(List<String> names, ForkJoinPool pool, int parallelismThreshold) {
+        return Collections.unmodifiableList(Arrays.asList(
+                parseAll(names.toArray(new String[0]), pool, parallelismThreshold)));
+    }
+
+    /**
+     * Parses many names at once, splitting inputs larger than parallelismThreshold across the given pool.
+     *
+     * @param names the names of auto scaling groups, security groups, or load balancers
+     * @param pool the pool to parse in
+     * @param parallelismThreshold the largest number of names parsed by a single task
+     * @return beans containing the component parts of each name, in the same order as the input
+     */
+    public static Names[] parseAll(String[] names, ForkJoinPool pool, int parallelismThreshold) {
+        if (parallelismThreshold < 1) {
+            throw new IllegalArgumentException("parallelismThreshold must be greater than 0");
+        }
+        Names[] results = new Names[names.length];
+        if (names.length <= parallelismThreshold) {
+            ParseNamesTask.parseRange(names, results, 0, names.length);
+        } else {
+            pool.invoke(new ParseNamesTask(names, results, 0, names.length, parallelismThreshold));
+        }
+        return results;
+    }
+
+    /**
+     * Same as {@code parseName}, but returns a shared instance from a bounded cache of recently parsed names, so that
+     * repeatedly parsing the same name neither re-parses it nor recomputes its labeled variables.
+     *
+     * @param name the name of an auto scaling group, security group, or load balancer
+     * @return bean containing the component parts of the compound name
+     */
+    public static Names cached(String name) {
+        return SHARED_CACHE.get(name);
+    }
+
+    /**
+     * @return the cache backing {@code cached}, for inspecting its statistics
+     */
+    public static NamesCache getSharedCache() {
+        return SHARED_CACHE;
+    }
+
     /**
      * Same as {@code parseName}, but validates the format of name before constructing
      * the returned Names, throwing if it's invalid.
@@ -105,14 +178,17 @@ public class Names {
      * @throws IllegalArgumentException if name is not valid
      */
     public static Names parseNameOrThrow(String name) {
-        if (!isValidName(name)) {
+        NameScanner scanner = scan(name);
+        if (!scanner.isValid()) {
             throw new IllegalArgumentException(String.format("Invalid name '%s'", name));
         }
-        return new Names(name);
+        return new Names(name, scanner);
     }
 
-    private String checkEmpty(String input) {
-        return (input != null && !input.isEmpty()) ? input : null;
+    private static NameScanner scan(String name) {
+        NameScanner scanner = new NameScanner();
+        scanner.scan(name);
+        return scanner;
     }
 
     public String getGroup() {
@@ -176,27 +252,19 @@ public class Names {
     }
 
     private <T> T getLabeledVariable(Function<LabeledVariables, T> extractor) {
-        LabeledVariablesNamingResult result = labeledVariables.get();
+        LabeledVariablesNamingResult result = labeledVariables;
         if (result == null) {
             LabeledVariablesNamingResult applied = LABELED_VARIABLES_CONVENTION.extractNamingConvention(cluster);
-            if (labeledVariables.compareAndSet(null, applied)) {
+            if (LABELED_VARIABLES_UPDATER.compareAndSet(this, null, applied)) {
                 result = applied;
             } else {
-                result = labeledVariables.get();
+                result = labeledVariables;
             }
         }
 
         return result.getResult().map(extractor).orElse(null);
     }
 
-    private static boolean isValidName(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            return false;
-        }
-
-        return PUSH_PATTERN.matcher(name).matches() || NAME_PATTERN.matcher(name).matches();
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -207,7 +275,8 @@ public class Names {
 
     @Override
     public int hashCode() {
-        return Objects.hash(group);
+        // Same value as Objects.hash(group), without the varargs array, reusing the hash cached by the group string
+        return 31 + (group == null ? 0 : group.hashCode());
     }
 
     @Override
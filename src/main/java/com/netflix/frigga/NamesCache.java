@@ -0,0 +1,129 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga;
+
+/**
+ * Thread-safe, size-bounded cache of parsed {@link Names}. Repeated lookups of the same name return the same shared
+ * instance, so lazily computed values such as the labeled variables are only computed once per distinct name.
+ * Eviction is approximate for large caches, as described by {@link BoundedCache}.
+ */
+public class NamesCache {
+
+    /**
+     * Order in which entries are evicted once a segment of the cache is full.
+     */
+    public enum EvictionPolicy {
+        /** Evict the entry that was least recently returned by the cache. */
+        LEAST_RECENTLY_USED,
+        /** Evict the entry that was added to the cache first, regardless of how often it is read. */
+        FIRST_IN_FIRST_OUT
+    }
+
+    private final EvictionPolicy evictionPolicy;
+    private final BoundedCache<String, Names> cache;
+
+    /**
+     * Creates a cache that evicts the least recently used names.
+     *
+     * @param maximumSize maximum number of names to hold
+     */
+    public NamesCache(int maximumSize) {
+        this(maximumSize, EvictionPolicy.LEAST_RECENTLY_USED);
+    }
+
+    /**
+     * @param maximumSize maximum number of names to hold
+     * @param evictionPolicy order in which names are evicted once the cache is full
+     */
+    public NamesCache(int maximumSize, EvictionPolicy evictionPolicy) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be greater than 0");
+        }
+        if (evictionPolicy == null) {
+            throw new NullPointerException("ERROR: Trying to use null evictionPolicy");
+        }
+        this.evictionPolicy = evictionPolicy;
+        cache = new BoundedCache<>(maximumSize, evictionPolicy == EvictionPolicy.LEAST_RECENTLY_USED);
+    }
+
+    /**
+     * Returns the parsed form of the name, parsing it only if it isn't already cached.
+     *
+     * @param name the name of an auto scaling group, security group, or load balancer
+     * @return bean containing the component parts of the compound name
+     */
+    public Names get(String name) {
+        if (name == null) {
+            return Names.parseName(null);
+        }
+        return cache.get(name, Names::parseName);
+    }
+
+    /**
+     * Removes every name from the cache. Statistics are left untouched.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return the number of names currently cached
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    public int getMaximumSize() {
+        return cache.getMaximumSize();
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * @return the number of lookups that returned an already parsed name
+     */
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    /**
+     * @return the number of lookups that had to parse the name
+     */
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    /**
+     * @return the number of names removed to keep the cache within its maximum size
+     */
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    @Override
+    public String toString() {
+        return "NamesCache{" +
+            "maximumSize=" + getMaximumSize() +
+            ", evictionPolicy=" + evictionPolicy +
+            ", size=" + size() +
+            ", hits=" + getHitCount() +
+            ", misses=" + getMissCount() +
+            ", evictions=" + getEvictionCount() +
+            '}';
+    }
+}
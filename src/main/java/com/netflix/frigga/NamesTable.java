@@ -0,0 +1,313 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga;
+
+import com.netflix.frigga.conventions.labeledvariables.LabeledVariables;
+import com.netflix.frigga.conventions.labeledvariables.LabeledVariablesNamingConvention;
+
+import java.util.Arrays;
+
+/**
+ * Columnar store for large numbers of parsed names. Rather than one {@link Names} object per name, each component is
+ * held in its own column of int ids into a dictionary shared by all columns, and the push sequence is held in an int
+ * column. Each row costs a few dozen bytes, and repeated values such as app names are stored only once.
+ *
+ * Rows are appended and then read by index or found with a scan of a single column. Not thread-safe.
+ */
+public class NamesTable {
+
+    /**
+     * The dictionary encoded components of a name. The group is not stored, since it is the cluster followed by the
+     * push, if any.
+     */
+    public enum Column {
+        CLUSTER,
+        APP,
+        STACK,
+        DETAIL,
+        PUSH,
+        COUNTRIES,
+        DEV_PHASE,
+        HARDWARE,
+        PARTNERS,
+        REVISION,
+        USED_BY,
+        RED_BLACK_SWAP,
+        ZONE
+    }
+
+    private static final Column[] COLUMNS = Column.values();
+    private static final int NULL_ID = -1;
+    private static final LabeledVariablesNamingConvention LABELED_VARIABLES_CONVENTION = new LabeledVariablesNamingConvention();
+
+    private final StringDictionary dictionary = new StringDictionary();
+    private final NameScanner scanner = new NameScanner();
+    private final int[][] columns = new int[COLUMNS.length][];
+    private int[] sequences;
+    private int size;
+
+    public NamesTable() {
+        this(16);
+    }
+
+    /**
+     * @param initialCapacity number of rows to allocate space for up front
+     */
+    public NamesTable(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("initialCapacity must be greater than 0");
+        }
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new int[initialCapacity];
+        }
+        sequences = new int[initialCapacity];
+    }
+
+    /**
+     * Parses and appends a name. Names that can't be parsed are still appended, as a row of nulls, so that row
+     * numbers stay aligned with the input.
+     *
+     * @param name the name of an auto scaling group, security group, or load balancer
+     * @return the row of the appended name
+     */
+    public int append(String name) {
+        int row = newRow();
+        if (name == null || !scanner.scan(name)) {
+            return row;
+        }
+        int clusterEnd = scanner.getClusterEnd();
+        int clusterId = dictionary.intern(name, 0, clusterEnd);
+        set(Column.CLUSTER, row, clusterId);
+        set(Column.APP, row, dictionary.intern(name, 0, scanner.getAppEnd()));
+        if (scanner.getStackStart() >= 0) {
+            set(Column.STACK, row, dictionary.intern(name, scanner.getStackStart(), scanner.getStackEnd()));
+        }
+        if (scanner.getDetailStart() >= 0) {
+            set(Column.DETAIL, row, dictionary.intern(name, scanner.getDetailStart(), scanner.getDetailEnd()));
+        }
+        if (scanner.getPushStart() >= 0) {
+            set(Column.PUSH, row, dictionary.intern(name, scanner.getPushStart(), name.length()));
+            sequences[row] = scanner.getSequence();
+        }
+        // Like Names, labeled variables are extracted from the whole cluster
+        appendLabeledVariables(row, clusterEnd == name.length() ? name : dictionary.get(clusterId));
+        return row;
+    }
+
+    /**
+     * Appends an already parsed name.
+     *
+     * @param names the parsed name
+     * @return the row of the appended name
+     */
+    public int append(Names names) {
+        int row = newRow();
+        if (names.getGroup() == null) {
+            return row;
+        }
+        set(Column.CLUSTER, row, intern(names.getCluster()));
+        set(Column.APP, row, intern(names.getApp()));
+        set(Column.STACK, row, intern(names.getStack()));
+        set(Column.DETAIL, row, intern(names.getDetail()));
+        set(Column.PUSH, row, intern(names.getPush()));
+        set(Column.COUNTRIES, row, intern(names.getCountries()));
+        set(Column.DEV_PHASE, row, intern(names.getDevPhase()));
+        set(Column.HARDWARE, row, intern(names.getHardware()));
+        set(Column.PARTNERS, row, intern(names.getPartners()));
+        set(Column.REVISION, row, intern(names.getRevision()));
+        set(Column.USED_BY, row, intern(names.getUsedBy()));
+        set(Column.RED_BLACK_SWAP, row, intern(names.getRedBlackSwap()));
+        set(Column.ZONE, row, intern(names.getZone()));
+        sequences[row] = names.getSequence() != null ? names.getSequence() : -1;
+        return row;
+    }
+
+    private void appendLabeledVariables(int row, String cluster) {
+        LabeledVariables vars = LABELED_VARIABLES_CONVENTION.extractNamingConvention(cluster).getResult().orElse(null);
+        if (vars != null) {
+            set(Column.COUNTRIES, row, intern(vars.getCountries()));
+            set(Column.DEV_PHASE, row, intern(vars.getDevPhase()));
+            set(Column.HARDWARE, row, intern(vars.getHardware()));
+            set(Column.PARTNERS, row, intern(vars.getPartners()));
+            set(Column.REVISION, row, intern(vars.getRevision()));
+            set(Column.USED_BY, row, intern(vars.getUsedBy()));
+            set(Column.RED_BLACK_SWAP, row, intern(vars.getRedBlackSwap()));
+            set(Column.ZONE, row, intern(vars.getZone()));
+        }
+    }
+
+    /**
+     * @return the number of rows in the table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of distinct values held across all columns
+     */
+    public int getDistinctValueCount() {
+        return dictionary.size();
+    }
+
+    /**
+     * @param row the row to read
+     * @param column the column to read
+     * @return the value of the column in that row, or null
+     */
+    public String get(int row, Column column) {
+        checkRow(row);
+        int id = idAt(column, row);
+        return id == NULL_ID ? null : dictionary.get(id);
+    }
+
+    public String getGroup(int row) {
+        String cluster = get(row, Column.CLUSTER);
+        String push = get(row, Column.PUSH);
+        return push == null ? cluster : cluster + "-" + push;
+    }
+
+    public String getCluster(int row) {
+        return get(row, Column.CLUSTER);
+    }
+
+    public String getApp(int row) {
+        return get(row, Column.APP);
+    }
+
+    public String getStack(int row) {
+        return get(row, Column.STACK);
+    }
+
+    public String getDetail(int row) {
+        return get(row, Column.DETAIL);
+    }
+
+    public String getPush(int row) {
+        return get(row, Column.PUSH);
+    }
+
+    public Integer getSequence(int row) {
+        int sequence = getSequenceAsInt(row);
+        return sequence < 0 ? null : sequence;
+    }
+
+    /**
+     * @param row the row to read
+     * @return the push sequence number, or -1 if the name has no push
+     */
+    public int getSequenceAsInt(int row) {
+        checkRow(row);
+        return sequences[row];
+    }
+
+    /**
+     * Recreates the {@link Names} bean for a row.
+     *
+     * @param row the row to read
+     * @return bean containing the component parts of the name in that row
+     */
+    public Names getNames(int row) {
+        return Names.parseName(getGroup(row));
+    }
+
+    /**
+     * Scans a single column for rows holding the given value.
+     *
+     * @param column the column to scan
+     * @param value the value to look for, or null to find rows without a value in that column
+     * @return the matching rows, in ascending order
+     */
+    public int[] findRows(Column column, String value) {
+        int id = NULL_ID;
+        if (value != null) {
+            id = dictionary.find(value);
+            if (id == NULL_ID) {
+                return new int[0];
+            }
+        }
+        int[] ids = columns[column.ordinal()];
+        int[] rows = new int[8];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (ids[row] == id) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, count * 2);
+                }
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Counts the rows holding the given value in a column.
+     *
+     * @param column the column to scan
+     * @param value the value to look for, or null to count rows without a value in that column
+     * @return the number of matching rows
+     */
+    public int countRows(Column column, String value) {
+        int id = NULL_ID;
+        if (value != null) {
+            id = dictionary.find(value);
+            if (id == NULL_ID) {
+                return 0;
+            }
+        }
+        int[] ids = columns[column.ordinal()];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (ids[row] == id) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int intern(String value) {
+        return value == null ? NULL_ID : dictionary.intern(value);
+    }
+
+    private int newRow() {
+        if (size == sequences.length) {
+            int capacity = size * 2;
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = Arrays.copyOf(columns[i], capacity);
+            }
+            sequences = Arrays.copyOf(sequences, capacity);
+        }
+        for (int[] column : columns) {
+            column[size] = NULL_ID;
+        }
+        sequences[size] = -1;
+        return size++;
+    }
+
+    private int idAt(Column column, int row) {
+        return columns[column.ordinal()][row];
+    }
+
+    private void set(Column column, int row, int id) {
+        columns[column.ordinal()][row] = id;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + " is outside of the table of size " + size);
+        }
+    }
+}
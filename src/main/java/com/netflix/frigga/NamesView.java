@@ -0,0 +1,194 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga;
+
+/**
+ * Reusable, allocation-free counterpart of {@link Names}. A view parses any {@link CharSequence} and only records the
+ * offsets of each component; strings are created only when a getter returning a String is called. The comparison
+ * methods and {@link #getSequenceAsInt()} never allocate, so a single view can be used to inspect many names without
+ * creating garbage.
+ *
+ * The view keeps a reference to the parsed CharSequence rather than copying it, so a mutable input such as a
+ * StringBuilder or CharBuffer must not change until the view is done with it. Views are not thread-safe.
+ */
+public final class NamesView {
+
+    private final NameScanner scanner = new NameScanner();
+    private CharSequence name;
+
+    /**
+     * Parses the name into a new view.
+     *
+     * @param name the name of an auto scaling group, security group, or load balancer
+     * @return view over the component parts of the compound name
+     */
+    public static NamesView of(CharSequence name) {
+        NamesView view = new NamesView();
+        view.parse(name);
+        return view;
+    }
+
+    /**
+     * Breaks down the name into its component parts, replacing whatever this view previously held.
+     *
+     * @param name the name of an auto scaling group, security group, or load balancer
+     * @return true if the name could be broken down into its component parts
+     */
+    public boolean parse(CharSequence name) {
+        boolean matched = scanner.scan(name);
+        this.name = matched ? name : null;
+        return matched;
+    }
+
+    /**
+     * @return true if the last parsed name could be broken down into its component parts
+     */
+    public boolean isParsed() {
+        return name != null;
+    }
+
+    /**
+     * Materializes this view into a {@link Names} bean.
+     *
+     * @return bean containing the component parts of the last parsed name
+     */
+    public Names toNames() {
+        return name != null ? new Names(name.toString(), scanner) : Names.parseName(null);
+    }
+
+    public String getGroup() {
+        return name != null ? name.toString() : null;
+    }
+
+    public String getCluster() {
+        return name != null ? subSequence(0, scanner.getClusterEnd()) : null;
+    }
+
+    public String getApp() {
+        return name != null ? subSequence(0, scanner.getAppEnd()) : null;
+    }
+
+    public String getStack() {
+        return name != null && scanner.getStackStart() >= 0
+                ? subSequence(scanner.getStackStart(), scanner.getStackEnd()) : null;
+    }
+
+    public String getDetail() {
+        return name != null && scanner.getDetailStart() >= 0
+                ? subSequence(scanner.getDetailStart(), scanner.getDetailEnd()) : null;
+    }
+
+    public String getPush() {
+        return name != null && scanner.getPushStart() >= 0
+                ? subSequence(scanner.getPushStart(), scanner.getLength()) : null;
+    }
+
+    public Integer getSequence() {
+        return name != null && scanner.getPushStart() >= 0 ? scanner.getSequence() : null;
+    }
+
+    /**
+     * @return the push sequence number, or -1 if the name has no push
+     */
+    public int getSequenceAsInt() {
+        return name != null ? scanner.getSequence() : -1;
+    }
+
+    /**
+     * @return true if the name has a push suffix such as "-v001"
+     */
+    public boolean hasPush() {
+        return getSequenceAsInt() >= 0;
+    }
+
+    /**
+     * @param group the name to compare against, may be null
+     * @return true if the whole parsed name equals the given value
+     */
+    public boolean groupEquals(CharSequence group) {
+        return name != null ? regionEquals(0, scanner.getLength(), group) : group == null;
+    }
+
+    /**
+     * @param cluster the cluster name to compare against, may be null
+     * @return true if the cluster of the parsed name equals the given value
+     */
+    public boolean clusterEquals(CharSequence cluster) {
+        return name != null ? regionEquals(0, scanner.getClusterEnd(), cluster) : cluster == null;
+    }
+
+    /**
+     * @param app the app name to compare against, may be null
+     * @return true if the app of the parsed name equals the given value
+     */
+    public boolean appEquals(CharSequence app) {
+        return name != null ? regionEquals(0, scanner.getAppEnd(), app) : app == null;
+    }
+
+    /**
+     * @param stack the stack to compare against, may be null
+     * @return true if the stack of the parsed name equals the given value
+     */
+    public boolean stackEquals(CharSequence stack) {
+        if (name == null || scanner.getStackStart() < 0) {
+            return stack == null;
+        }
+        return regionEquals(scanner.getStackStart(), scanner.getStackEnd(), stack);
+    }
+
+    /**
+     * @param detail the detail to compare against, may be null
+     * @return true if the detail of the parsed name equals the given value
+     */
+    public boolean detailEquals(CharSequence detail) {
+        if (name == null || scanner.getDetailStart() < 0) {
+            return detail == null;
+        }
+        return regionEquals(scanner.getDetailStart(), scanner.getDetailEnd(), detail);
+    }
+
+    private boolean regionEquals(int start, int end, CharSequence other) {
+        if (other == null || other.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (name.charAt(i) != other.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String subSequence(int start, int end) {
+        if (name instanceof String) {
+            return ((String) name).substring(start, end);
+        }
+        return name.subSequence(start, end).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "NamesView{" +
+            "group='" + getGroup() + '\'' +
+            ", cluster='" + getCluster() + '\'' +
+            ", app='" + getApp() + '\'' +
+            ", stack='" + getStack() + '\'' +
+            ", detail='" + getDetail() + '\'' +
+            ", push='" + getPush() + '\'' +
+            ", sequence=" + getSequence() +
+            '}';
+    }
+}
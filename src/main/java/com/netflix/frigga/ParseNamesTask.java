@@ -0,0 +1,60 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join task that parses a range of names into a shared result array. Ranges larger than the threshold are split
+ * in half; each leaf reuses a single {@link NameScanner} for every name in its range.
+ */
+final class ParseNamesTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] names;
+    private final Names[] results;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    ParseNamesTask(String[] names, Names[] results, int from, int to, int threshold) {
+        this.names = names;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= threshold) {
+            parseRange(names, results, from, to);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new ParseNamesTask(names, results, from, middle, threshold),
+                new ParseNamesTask(names, results, middle, to, threshold));
+    }
+
+    static void parseRange(String[] names, Names[] results, int from, int to) {
+        NameScanner scanner = new NameScanner();
+        for (int i = from; i < to; i++) {
+            scanner.scan(names[i]);
+            results[i] = new Names(names[i], scanner);
+        }
+    }
+}
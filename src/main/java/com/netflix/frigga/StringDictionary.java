@@ -0,0 +1,163 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga;
+
+import java.util.Arrays;
+
+/**
+ * Assigns dense int ids to distinct strings using open addressing. Lookups can be made against a region of any
+ * CharSequence so that a value that is already known never has to be materialized as a String. Not thread-safe.
+ */
+public final class StringDictionary {
+
+    private String[] values;
+    private int[] hashes;
+    private int size;
+    /** Open addressing table of id + 1, with 0 marking an empty slot. */
+    private int[] slots;
+
+    public StringDictionary() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize number of distinct strings to allocate space for up front
+     */
+    public StringDictionary(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        }
+        int capacity = Math.max(expectedSize, 16);
+        values = new String[capacity];
+        hashes = new int[capacity];
+        slots = new int[Integer.highestOneBit(capacity * 2 - 1) * 2];
+    }
+
+    /**
+     * @return the id of value, adding it to the dictionary if needed
+     */
+    public int intern(String value) {
+        return intern(value, 0, value.length());
+    }
+
+    /**
+     * @return the id of the characters between start and end, adding them to the dictionary if needed
+     */
+    public int intern(CharSequence chars, int start, int end) {
+        int hash = hash(chars, start, end);
+        int mask = slots.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (id < 0) {
+                id = add(chars, start, end, hash);
+                slots[slot] = id + 1;
+                if (size * 2 > slots.length) {
+                    rehash();
+                }
+                return id;
+            }
+            if (hashes[id] == hash && regionEquals(values[id], chars, start, end)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * @return the id of value, or -1 if it is not in the dictionary
+     */
+    public int find(String value) {
+        int hash = value.hashCode();
+        int mask = slots.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (id < 0) {
+                return -1;
+            }
+            if (hashes[id] == hash && values[id].equals(value)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * @return the string with the id
+     */
+    public String get(int id) {
+        return values[id];
+    }
+
+    /**
+     * @return the number of distinct strings, which are numbered from 0 in the order they were added
+     */
+    public int size() {
+        return size;
+    }
+
+    private int add(CharSequence chars, int start, int end, int hash) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        String value = chars instanceof String
+                ? ((String) chars).substring(start, end) : chars.subSequence(start, end).toString();
+        values[size] = value;
+        hashes[size] = hash;
+        return size++;
+    }
+
+    private void rehash() {
+        int[] resized = new int[slots.length * 2];
+        int mask = resized.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = spread(hashes[id]) & mask;
+            while (resized[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            resized[slot] = id + 1;
+        }
+        slots = resized;
+    }
+
+    /**
+     * Same as {@link String#hashCode()}, so that regions and strings with the same characters hash the same.
+     */
+    private static int hash(CharSequence chars, int start, int end) {
+        if (start == 0 && chars instanceof String && end == chars.length()) {
+            return chars.hashCode();
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean regionEquals(String value, CharSequence chars, int start, int end) {
+        if (value.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i - start) != chars.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
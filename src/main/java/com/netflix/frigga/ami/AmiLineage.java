@@ -0,0 +1,241 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.ami;
+
+import com.netflix.frigga.StringDictionary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of which AMIs were baked on top of which, built once from the descriptions of a catalog of images. Each image
+ * is linked to the base AMI (or ancestor) named in its description, and the graph is held in int arrays indexed by a
+ * dense number per image, so descriptions are parsed only while building and each image costs a few dozen bytes.
+ *
+ * Base AMIs that are named in a description but are not themselves in the catalog are still part of the graph, so
+ * their descendants can be found. Instances are immutable and may be shared between threads.
+ */
+public final class AmiLineage {
+
+    private static final int NONE = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final StringDictionary imageIds;
+    /** The index of each image that was in the catalog, in catalog order. */
+    private final int[] catalog;
+    /** The index of the base AMI of each image, or NONE. */
+    private final int[] baseAmis;
+    /** The date in the name of the base AMI of each image, in days since 1970-01-01, or NO_DATE. */
+    private final int[] baseAmiEpochDays;
+    /** The images baked on each image are children[childStarts[i]] up to children[childStarts[i + 1]]. */
+    private final int[] childStarts;
+    private final int[] children;
+
+    private AmiLineage(StringDictionary imageIds, int[] catalog, int[] baseAmis, int[] baseAmiEpochDays) {
+        this.imageIds = imageIds;
+        this.catalog = catalog;
+        this.baseAmis = baseAmis;
+        this.baseAmiEpochDays = baseAmiEpochDays;
+
+        int size = imageIds.size();
+        childStarts = new int[size + 1];
+        for (int image = 0; image < size; image++) {
+            if (baseAmis[image] != NONE) {
+                childStarts[baseAmis[image] + 1]++;
+            }
+        }
+        for (int image = 0; image < size; image++) {
+            childStarts[image + 1] += childStarts[image];
+        }
+        children = new int[childStarts[size]];
+        int[] next = Arrays.copyOf(childStarts, size);
+        for (int image = 0; image < size; image++) {
+            if (baseAmis[image] != NONE) {
+                children[next[baseAmis[image]]++] = image;
+            }
+        }
+    }
+
+    /**
+     * Parses the description of every image and links each one to its base AMI.
+     *
+     * @param descriptionsByImageId the description of each image in the catalog, by image id
+     * @return the lineage of the catalog
+     * @throws IllegalArgumentException if the catalog has a null image id
+     */
+    public static AmiLineage build(Map<String, String> descriptionsByImageId) {
+        int catalogSize = descriptionsByImageId.size();
+        StringDictionary imageIds = new StringDictionary(catalogSize);
+        int[] catalog = new int[catalogSize];
+        int[] baseAmis = new int[Math.max(catalogSize, 16)];
+        int[] baseAmiEpochDays = new int[baseAmis.length];
+        Arrays.fill(baseAmis, NONE);
+        Arrays.fill(baseAmiEpochDays, NO_DATE);
+
+        int position = 0;
+        for (Map.Entry<String, String> entry : descriptionsByImageId.entrySet()) {
+            String imageId = entry.getKey();
+            if (imageId == null) {
+                throw new IllegalArgumentException("image id must be specified");
+            }
+            int image = imageIds.intern(imageId);
+            catalog[position++] = image;
+            BaseAmiInfo info = BaseAmiInfo.parseDescription(entry.getValue());
+            String baseAmiId = info.getBaseAmiId();
+            int baseAmi = baseAmiId != null ? imageIds.intern(baseAmiId) : NONE;
+            if (imageIds.size() > baseAmis.length) {
+                int capacity = baseAmis.length * 2;
+                baseAmis = Arrays.copyOf(baseAmis, capacity);
+                baseAmiEpochDays = Arrays.copyOf(baseAmiEpochDays, capacity);
+                Arrays.fill(baseAmis, capacity / 2, capacity, NONE);
+                Arrays.fill(baseAmiEpochDays, capacity / 2, capacity, NO_DATE);
+            }
+            baseAmis[image] = baseAmi;
+            baseAmiEpochDays[image] = info.getBaseAmiEpochDay();
+        }
+
+        int size = imageIds.size();
+        return new AmiLineage(imageIds, catalog, Arrays.copyOf(baseAmis, size), Arrays.copyOf(baseAmiEpochDays, size));
+    }
+
+    /**
+     * @return the number of images in the catalog, not counting base AMIs outside of it
+     */
+    public int size() {
+        return catalog.length;
+    }
+
+    /**
+     * @param imageId the image to look for
+     * @return true if the image is in the catalog or is the base AMI of an image in the catalog
+     */
+    public boolean contains(String imageId) {
+        return indexOf(imageId) != NONE;
+    }
+
+    /**
+     * @param imageId the image to look up
+     * @return the id of the base AMI the image was baked on, or null if unknown
+     */
+    public String getBaseAmiId(String imageId) {
+        int image = indexOf(imageId);
+        return image != NONE && baseAmis[image] != NONE ? imageIds.get(baseAmis[image]) : null;
+    }
+
+    /**
+     * @param imageId the image to look up
+     * @return the date in the name of the base AMI the image was baked on, or null if unknown
+     */
+    public LocalDate getBaseAmiDate(String imageId) {
+        int image = indexOf(imageId);
+        return image != NONE && baseAmiEpochDays[image] != NO_DATE ? LocalDate.ofEpochDay(baseAmiEpochDays[image]) : null;
+    }
+
+    /**
+     * @param imageId the image to start from
+     * @return the base AMI of the image, then its base AMI, and so on, nearest first
+     */
+    public List<String> getAncestors(String imageId) {
+        int image = indexOf(imageId);
+        if (image == NONE) {
+            return Collections.emptyList();
+        }
+        List<String> ancestors = new ArrayList<String>();
+        BitSet seen = new BitSet();
+        seen.set(image);
+        for (int ancestor = baseAmis[image]; ancestor != NONE && !seen.get(ancestor); ancestor = baseAmis[ancestor]) {
+            seen.set(ancestor);
+            ancestors.add(imageIds.get(ancestor));
+        }
+        return ancestors;
+    }
+
+    /**
+     * @param imageId the base AMI to look up
+     * @return the images baked directly on the base AMI
+     */
+    public List<String> getChildren(String imageId) {
+        int image = indexOf(imageId);
+        if (image == NONE) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<String>(childStarts[image + 1] - childStarts[image]);
+        for (int i = childStarts[image]; i < childStarts[image + 1]; i++) {
+            result.add(imageIds.get(children[i]));
+        }
+        return result;
+    }
+
+    /**
+     * @param imageId the base AMI to look up
+     * @return every image that descends from the base AMI, nearest generations first
+     */
+    public List<String> getDescendants(String imageId) {
+        int image = indexOf(imageId);
+        if (image == NONE) {
+            return Collections.emptyList();
+        }
+        int[] queue = new int[16];
+        int head = 0;
+        int tail = 0;
+        BitSet seen = new BitSet();
+        seen.set(image);
+        queue[tail++] = image;
+        List<String> descendants = new ArrayList<String>();
+        while (head < tail) {
+            int parent = queue[head++];
+            for (int i = childStarts[parent]; i < childStarts[parent + 1]; i++) {
+                int child = children[i];
+                if (!seen.get(child)) {
+                    seen.set(child);
+                    descendants.add(imageIds.get(child));
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, tail * 2);
+                    }
+                    queue[tail++] = child;
+                }
+            }
+        }
+        return descendants;
+    }
+
+    /**
+     * Finds images baked on base AMIs dated before the given day, such as images due to be rebaked.
+     *
+     * @param date the day to compare against
+     * @return the images in the catalog whose base AMI date is before the date, in catalog order
+     */
+    public List<String> getImagesWithBaseAmiOlderThan(LocalDate date) {
+        long day = date.toEpochDay();
+        List<String> images = new ArrayList<String>();
+        for (int image : catalog) {
+            int baseAmiDay = baseAmiEpochDays[image];
+            if (baseAmiDay != NO_DATE && baseAmiDay < day) {
+                images.add(imageIds.get(image));
+            }
+        }
+        return images;
+    }
+
+    private int indexOf(String imageId) {
+        return imageId != null ? imageIds.find(imageId) : NONE;
+    }
+}
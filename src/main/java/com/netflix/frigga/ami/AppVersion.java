@@ -16,6 +16,10 @@
 package com.netflix.frigga.ami;
 
 import com.netflix.frigga.NameConstants;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -35,12 +39,54 @@ public class AppVersion implements Comparable<AppVersion> {
             "([" + NameConstants.NAME_HYPHEN_CHARS
             + "]+)-([0-9.a-zA-Z~]+)-(\\w+)(?:[.](\\w+))?(?:~[" + NameConstants.NAME_HYPHEN_CHARS + "]+)?(?:\\/([" + NameConstants.NAME_HYPHEN_CHARS + "]+)\\/([0-9]+))?");
 
+    /** The characters other than letters and digits in NameConstants.NAME_HYPHEN_CHARS. */
+    private static final String NAME_HYPHEN_SYMBOLS = "-._~^";
+
+    private static final int DIGIT = 1;
+    private static final int WORD = 2;
+    private static final int VERSION = 4;
+    private static final int NAME_HYPHEN = 8;
+    /** Which of the pattern's character classes each ASCII character belongs to. */
+    private static final byte[] CHARACTER_CLASSES = new byte[128];
+
+    static {
+        for (char c = 0; c < 128; c++) {
+            boolean digit = c >= '0' && c <= '9';
+            boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            int classes = 0;
+            if (digit) {
+                classes |= DIGIT;
+            }
+            if (digit || letter || c == '_') {
+                classes |= WORD;
+            }
+            if (digit || letter || c == '.' || c == '~') {
+                classes |= VERSION;
+            }
+            if (digit || letter || NAME_HYPHEN_SYMBOLS.indexOf(c) >= 0) {
+                classes |= NAME_HYPHEN;
+            }
+            CHARACTER_CLASSES[c] = (byte) classes;
+        }
+    }
+
+    /**
+     * The ways of deconstructing an appversion string. Both produce the same results.
+     */
+    public enum Engine {
+        /** Matches the string against {@link AppVersion#getAppVersionPattern()}. */
+        PATTERN,
+        /** Deconstructs the string in a single hand-written pass, without backtracking. The default. */
+        SCANNER
+    }
 
     private String packageName;
     private String version;
     private String buildJobName;
     private String buildNumber;
     private String commit;
+    /** Computed on first use by {@link #numericOrder()}. Racy, but every thread computes the same key. */
+    private SortKey sortKey;
 
     private AppVersion() {
     }
@@ -52,27 +98,124 @@ public class AppVersion implements Comparable<AppVersion> {
      * @return bean representing the component parts of the appversion tag
      */
     public static AppVersion parseName(String amiName) {
+        return parseName(amiName, Engine.SCANNER);
+    }
+
+    /**
+     * Parses the appversion tag into its component parts with the given engine.
+     *
+     * @param amiName the text of the AMI's appversion tag
+     * @param engine how to deconstruct the tag
+     * @return bean representing the component parts of the appversion tag
+     */
+    public static AppVersion parseName(String amiName, Engine engine) {
         if (amiName == null) {
             return null;
         }
+        return engine == Engine.PATTERN ? match(amiName) : scan(amiName);
+    }
+
+    private static AppVersion match(String amiName) {
         Matcher matcher = APP_VERSION_PATTERN.matcher(amiName);
         if (!matcher.matches()) {
             return null;
         }
+        return create(matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4), matcher.group(5));
+    }
+
+    /**
+     * Same as matching APP_VERSION_PATTERN. The only characters the pattern accepts outside of the package name are
+     * two slashes around the build job, so the job is found first. Of what remains, the version runs from a hyphen to
+     * the next hyphen, and the word characters after that are the first build field. The package name is as long as
+     * possible, so candidate hyphens are tried from right to left until the rest of the string fits.
+     */
+    private static AppVersion scan(String amiName) {
+        int length = amiName.length();
+        int headEnd = amiName.indexOf('/');
+        String buildJobName = null;
+        if (headEnd < 0) {
+            headEnd = length;
+        } else {
+            int jobEnd = amiName.indexOf('/', headEnd + 1);
+            if (jobEnd < 0 || jobEnd == headEnd + 1 || jobEnd + 1 == length
+                    || !allMatch(amiName, headEnd + 1, jobEnd, NAME_HYPHEN) || !allMatch(amiName, jobEnd + 1, length, DIGIT)) {
+                return null;
+            }
+            buildJobName = amiName.substring(headEnd + 1, jobEnd);
+        }
+        if (!allMatch(amiName, 0, headEnd, NAME_HYPHEN)) {
+            return null;
+        }
+
+        for (int packageEnd = amiName.lastIndexOf('-', headEnd - 1); packageEnd > 0;
+                packageEnd = amiName.lastIndexOf('-', packageEnd - 1)) {
+            int versionEnd = amiName.indexOf('-', packageEnd + 1);
+            if (versionEnd < 0 || versionEnd >= headEnd || versionEnd == packageEnd + 1
+                    || !allMatch(amiName, packageEnd + 1, versionEnd, VERSION)) {
+                continue;
+            }
+            int firstStart = versionEnd + 1;
+            int firstEnd = wordEnd(amiName, firstStart, headEnd);
+            if (firstEnd == firstStart) {
+                continue;
+            }
+            int secondEnd = -1;
+            int rest = firstEnd;
+            if (rest < headEnd && amiName.charAt(rest) == '.') {
+                secondEnd = wordEnd(amiName, rest + 1, headEnd);
+                if (secondEnd == rest + 1) {
+                    continue;
+                }
+                rest = secondEnd;
+            }
+            // Anything left must be a '~' suffix, such as "~focal", which is not captured
+            if (rest < headEnd && (amiName.charAt(rest) != '~' || rest + 1 == headEnd)) {
+                continue;
+            }
+            return create(amiName.substring(0, packageEnd), amiName.substring(packageEnd + 1, versionEnd),
+                    amiName.substring(firstStart, firstEnd),
+                    secondEnd < 0 ? null : amiName.substring(firstEnd + 1, secondEnd), buildJobName);
+        }
+        return null;
+    }
+
+    private static AppVersion create(String packageName, String version, String first, String second,
+            String buildJobName) {
         AppVersion parsedName = new AppVersion();
-        parsedName.packageName = matcher.group(1);
-        parsedName.version = matcher.group(2);
+        parsedName.packageName = packageName;
+        parsedName.version = version;
         // Historically we put the change number first because with Perforce it was a number we could use to sort.
         // This broke when we started using git, since hashes have no order. For a while the stash builds ommited the
         // commit id, but eventually we began appending it after the build number.
-        boolean buildFirst = matcher.group(3) != null && matcher.group(3).startsWith("h"); // 'h' is for Hudson
-        String buildString = matcher.group(buildFirst ? 3 : 4);
+        boolean buildFirst = first != null && first.startsWith("h"); // 'h' is for Hudson
+        String buildString = buildFirst ? first : second;
         parsedName.buildNumber = buildString != null ? buildString.substring(1) : null;
-        parsedName.commit = matcher.group(buildFirst ? 4 : 3);
-        parsedName.buildJobName = matcher.group(5);
+        parsedName.commit = buildFirst ? second : first;
+        parsedName.buildJobName = buildJobName;
         return parsedName;
     }
 
+    private static boolean is(char c, int characterClass) {
+        return c < 128 && (CHARACTER_CLASSES[c] & characterClass) != 0;
+    }
+
+    private static boolean allMatch(String value, int start, int end, int characterClass) {
+        for (int i = start; i < end; i++) {
+            if (!is(value.charAt(i), characterClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int wordEnd(String value, int start, int end) {
+        int i = start;
+        while (i < end && is(value.charAt(i), WORD)) {
+            i++;
+        }
+        return i;
+    }
+
     @Override
     public int compareTo(AppVersion other) {
         if (this == other) { // if x.equals(y), then x.compareTo(y) should be 0
@@ -103,7 +246,173 @@ public class AppVersion implements Comparable<AppVersion> {
         return comparison;
     }
 
-    private int nullSafeStringComparator(final String one, final String two) {
+    /**
+     * Orders by the same fields as {@link #compareTo(AppVersion)}, but compares runs of digits in the version and
+     * build number by their numeric value, so that version 1.10 follows 1.9 and build 10 follows build 9. Other
+     * characters compare as they do in {@link String#compareTo(String)}. Each AppVersion packs its version and build
+     * number into a sort key the first time it is compared, so sorting does not rescan the strings. Versions that are
+     * numerically equal, such as 1.01 and 1.1, fall back to {@code compareTo}.
+     *
+     * @return comparator that places null before any AppVersion
+     */
+    public static Comparator<AppVersion> numericOrder() {
+        return NUMERIC_ORDER;
+    }
+
+    private static final Comparator<AppVersion> NUMERIC_ORDER = new Comparator<AppVersion>() {
+        @Override
+        public int compare(AppVersion one, AppVersion two) {
+            if (one == two) {
+                return 0;
+            }
+            if (one == null || two == null) {
+                return one == null ? -1 : 1;
+            }
+            SortKey oneKey = one.getSortKey();
+            SortKey twoKey = two.getSortKey();
+            int comparison = nullSafeStringComparator(one.packageName, two.packageName);
+            if (comparison != 0) {
+                return comparison;
+            }
+            comparison = compareTokens(oneKey.version, twoKey.version);
+            if (comparison != 0) {
+                return comparison;
+            }
+            comparison = nullSafeStringComparator(one.buildJobName, two.buildJobName);
+            if (comparison != 0) {
+                return comparison;
+            }
+            comparison = compareTokens(oneKey.buildNumber, twoKey.buildNumber);
+            if (comparison != 0) {
+                return comparison;
+            }
+            comparison = nullSafeStringComparator(one.commit, two.commit);
+            if (comparison != 0) {
+                return comparison;
+            }
+            return one.compareTo(two);
+        }
+    };
+
+    /**
+     * Selects the newest AppVersion of each package in a single pass, without sorting.
+     *
+     * @param appVersions the versions to choose from, null elements are skipped
+     * @return the newest AppVersion of each package name, by {@link #numericOrder()}, in order of first appearance
+     */
+    public static Map<String, AppVersion> newestByPackageName(Iterable<AppVersion> appVersions) {
+        return newestByPackageName(appVersions, NUMERIC_ORDER);
+    }
+
+    /**
+     * Selects the newest AppVersion of each package in a single pass, without sorting.
+     *
+     * @param appVersions the versions to choose from, null elements are skipped
+     * @param order decides which of two versions of a package is newer, such as {@link #numericOrder()} or
+     *              {@link Comparator#naturalOrder()}
+     * @return the newest AppVersion of each package name, in order of first appearance
+     */
+    public static Map<String, AppVersion> newestByPackageName(Iterable<AppVersion> appVersions,
+            Comparator<? super AppVersion> order) {
+        Map<String, AppVersion> newest = new LinkedHashMap<String, AppVersion>();
+        for (AppVersion appVersion : appVersions) {
+            if (appVersion == null) {
+                continue;
+            }
+            AppVersion current = newest.get(appVersion.packageName);
+            if (current == null || order.compare(appVersion, current) > 0) {
+                newest.put(appVersion.packageName, appVersion);
+            }
+        }
+        return newest;
+    }
+
+    private SortKey getSortKey() {
+        SortKey key = sortKey;
+        if (key == null) {
+            key = new SortKey(pack(version), pack(buildNumber));
+            sortKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * Version and build number packed into longs: one per character, or one per run of digits.
+     */
+    private static final class SortKey {
+        private final long[] version;
+        private final long[] buildNumber;
+
+        private SortKey(long[] version, long[] buildNumber) {
+            this.version = version;
+            this.buildNumber = buildNumber;
+        }
+    }
+
+    /** Characters are packed above this bit, leaving the bits below for the value of a run of digits. */
+    private static final int CHAR_SHIFT = 47;
+    /** Longer runs of digits do not fit below CHAR_SHIFT, so they are packed one character at a time. */
+    private static final int MAX_PACKED_DIGITS = 14;
+    private static final long LONG_DIGIT_RUN = (1L << CHAR_SHIFT) - 64;
+
+    /**
+     * A run of digits is packed as '0' plus its value, so it sorts against other characters as a digit would. The
+     * result has at most one long per character, plus one per run of more than MAX_PACKED_DIGITS digits.
+     */
+    private static long[] pack(String value) {
+        if (value == null) {
+            return null;
+        }
+        int length = value.length();
+        long[] tokens = new long[length + length / (MAX_PACKED_DIGITS + 1)];
+        int count = 0;
+        int i = 0;
+        while (i < length) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                int start = i;
+                while (i < length && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                    i++;
+                }
+                int significant = start;
+                while (significant < i - 1 && value.charAt(significant) == '0') {
+                    significant++;
+                }
+                if (i - significant <= MAX_PACKED_DIGITS) {
+                    long number = 0;
+                    for (int j = significant; j < i; j++) {
+                        number = number * 10 + (value.charAt(j) - '0');
+                    }
+                    tokens[count++] = ((long) '0' << CHAR_SHIFT) + number;
+                } else {
+                    // Larger than any packed value and ordered by the number of digits, then digit by digit
+                    tokens[count++] = ((long) '0' << CHAR_SHIFT) + LONG_DIGIT_RUN + Math.min(i - significant, 63);
+                    for (int j = significant; j < i; j++) {
+                        tokens[count++] = (long) value.charAt(j) << CHAR_SHIFT;
+                    }
+                }
+            } else {
+                tokens[count++] = (long) c << CHAR_SHIFT;
+                i++;
+            }
+        }
+        return count == tokens.length ? tokens : Arrays.copyOf(tokens, count);
+    }
+
+    private static int compareTokens(long[] one, long[] two) {
+        if (one == null || two == null) {
+            return one == two ? 0 : one == null ? -1 : 1;
+        }
+        int length = Math.min(one.length, two.length);
+        for (int i = 0; i < length; i++) {
+            if (one[i] != two[i]) {
+                return one[i] < two[i] ? -1 : 1;
+            }
+        }
+        return one.length - two.length;
+    }
+
+    private static int nullSafeStringComparator(final String one, final String two) {
         if (one == null && two == null) {
             return 0;
         }
@@ -15,10 +15,10 @@
  */
 package com.netflix.frigga.ami;
 
-import java.text.SimpleDateFormat;
+import com.netflix.frigga.CharacterClass;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Bean containing the various pieces of information available from the description of an AMI created by Netflix's
@@ -26,16 +26,21 @@ import java.util.regex.Pattern;
  */
 public class BaseAmiInfo {
 
-    private static final String IMAGE_ID = "ami-[a-z0-9]{8}";
-    private static final Pattern BASE_AMI_ID_PATTERN = Pattern.compile("^.*?base_ami_id=(" + IMAGE_ID + ").*?");
-    private static final Pattern ANCESTOR_ID_PATTERN = Pattern.compile("^.*?ancestor_id=(" + IMAGE_ID + ").*?$");
-    private static final Pattern BASE_AMI_NAME_PATTERN = Pattern.compile("^.*?base_ami_name=([^,]+).*?$");
-    private static final Pattern ANCESTOR_NAME_PATTERN = Pattern.compile("^.*?ancestor_name=([^,]+).*?$");
-    private static final Pattern AMI_DATE_PATTERN = Pattern.compile(".*\\-(20[0-9]{6})(\\-.*)?");
+    private static final String BASE_AMI_ID_KEY = "base_ami_id=";
+    private static final String BASE_AMI_NAME_KEY = "base_ami_name=";
+    private static final String ANCESTOR_ID_KEY = "ancestor_id=";
+    private static final String ANCESTOR_NAME_KEY = "ancestor_name=";
+    /** Image ids look like ami-[a-z0-9]{8}. */
+    private static final String IMAGE_ID_PREFIX = "ami-";
+    private static final int IMAGE_ID_LENGTH = IMAGE_ID_PREFIX.length() + 8;
+    /** Dates in base AMI names look like -20[0-9]{6}. */
+    private static final int DATE_LENGTH = 8;
+    private static final int NO_DATE = Integer.MIN_VALUE;
 
     private String baseAmiId;
     private String baseAmiName;
-    private Date baseAmiDate;
+    /** The base AMI date as a count of days since 1970-01-01, or NO_DATE. */
+    private int baseAmiEpochDay = NO_DATE;
 
     private BaseAmiInfo() { }
 
@@ -50,48 +55,139 @@ public class BaseAmiInfo {
         if (imageDescription == null) {
             return info;
         }
-        info.baseAmiId = extractBaseAmiId(imageDescription);
-        info.baseAmiName = extractBaseAmiName(imageDescription);
-        if (info.baseAmiName != null) {
-            Matcher dateMatcher = AMI_DATE_PATTERN.matcher(info.baseAmiName);
-            if (dateMatcher.matches()) {
-                try {
-                    // Example: 20100823
-                    info.baseAmiDate = new SimpleDateFormat("yyyyMMdd").parse(dateMatcher.group(1));
-                } catch (Exception ignored) {
-                    // Ignore failure.
+        // base_ami_id=ami-1eb75c77,base_ami_name=servicenet-roku-qadd.dc.81210.10.44
+        // store=ebs,ancestor_name=ebs-centosbase-x86_64-20101124,ancestor_id=ami-7b4eb912
+        // The base_ami_ values take precedence over the ancestor_ values wherever they appear in the description.
+        int baseAmiId = -1;
+        int baseAmiName = -1;
+        int ancestorId = -1;
+        int ancestorName = -1;
+        int firstTerminator = -1;
+        int lastTerminator = -1;
+        int length = imageDescription.length();
+        for (int i = 0; i < length; i++) {
+            char c = imageDescription.charAt(i);
+            if (c == 'b') {
+                if (baseAmiId < 0 && isImageId(imageDescription, i, BASE_AMI_ID_KEY)) {
+                    baseAmiId = i + BASE_AMI_ID_KEY.length();
+                } else if (baseAmiName < 0 && firstTerminator < 0 && isName(imageDescription, i, BASE_AMI_NAME_KEY)) {
+                    baseAmiName = i + BASE_AMI_NAME_KEY.length();
+                }
+            } else if (c == 'a') {
+                if (ancestorId < 0 && isImageId(imageDescription, i, ANCESTOR_ID_KEY)) {
+                    ancestorId = i + ANCESTOR_ID_KEY.length();
+                } else if (ancestorName < 0 && firstTerminator < 0 && isName(imageDescription, i, ANCESTOR_NAME_KEY)) {
+                    ancestorName = i + ANCESTOR_NAME_KEY.length();
                 }
+            } else if (CharacterClass.isLineTerminator(c)) {
+                if (firstTerminator < 0) {
+                    firstTerminator = i;
+                }
+                lastTerminator = i;
+            }
+        }
+        if (lastTerminator >= 0) {
+            // Historically these were found with patterns that had to match the whole description, with wildcards
+            // that stop at line terminators. Only a name, which runs up to the next comma, can span one.
+            baseAmiId = -1;
+            ancestorId = -1;
+            baseAmiName = checkNameSpansTerminators(imageDescription, BASE_AMI_NAME_KEY, baseAmiName,
+                    firstTerminator, lastTerminator);
+            ancestorName = checkNameSpansTerminators(imageDescription, ANCESTOR_NAME_KEY, ancestorName,
+                    firstTerminator, lastTerminator);
+        }
+        int idStart = baseAmiId >= 0 ? baseAmiId : ancestorId;
+        if (idStart >= 0) {
+            info.baseAmiId = imageDescription.substring(idStart, idStart + IMAGE_ID_LENGTH);
+        }
+        int nameStart = baseAmiName >= 0 ? baseAmiName : ancestorName;
+        if (nameStart >= 0) {
+            int nameEnd = imageDescription.indexOf(',', nameStart);
+            info.baseAmiName = imageDescription.substring(nameStart, nameEnd < 0 ? length : nameEnd);
+            if (lastTerminator < 0) {
+                info.baseAmiEpochDay = parseDate(info.baseAmiName);
             }
         }
         return info;
     }
 
-    private static String extractBaseAmiId(String imageDescription) {
-        // base_ami_id=ami-1eb75c77,base_ami_name=servicenet-roku-qadd.dc.81210.10.44
-        Matcher matcher = BASE_AMI_ID_PATTERN.matcher(imageDescription);
-        if (matcher.matches()) {
-            return matcher.group(1);
-        }
-        // store=ebs,ancestor_name=ebs-centosbase-x86_64-20101124,ancestor_id=ami-7b4eb912
-        matcher = ANCESTOR_ID_PATTERN.matcher(imageDescription);
-        if (matcher.matches()) {
-            return matcher.group(1);
+    /**
+     * For a description with line terminators, a name must come before the first of them, and all of them must be
+     * inside the name itself.
+     *
+     * @return the start of the first such name at or after nameStart, or -1
+     */
+    private static int checkNameSpansTerminators(String description, String key, int nameStart, int firstTerminator,
+            int lastTerminator) {
+        while (nameStart >= 0) {
+            int nameEnd = description.indexOf(',', nameStart);
+            if (nameEnd < 0 || nameEnd > lastTerminator) {
+                return nameStart;
+            }
+            int keyStart = description.indexOf(key, nameStart - key.length() + 1);
+            nameStart = -1;
+            while (keyStart >= 0 && keyStart < firstTerminator) {
+                if (isName(description, keyStart, key)) {
+                    nameStart = keyStart + key.length();
+                    break;
+                }
+                keyStart = description.indexOf(key, keyStart + 1);
+            }
         }
-        return null;
+        return -1;
     }
 
-    private static String extractBaseAmiName(String imageDescription) {
-        // base_ami_id=ami-1eb75c77,base_ami_name=servicenet-roku-qadd.dc.81210.10.44
-        Matcher matcher = BASE_AMI_NAME_PATTERN.matcher(imageDescription);
-        if (matcher.matches()) {
-            return matcher.group(1);
+    private static boolean isImageId(String description, int keyStart, String key) {
+        int idStart = keyStart + key.length();
+        if (idStart + IMAGE_ID_LENGTH > description.length() || !description.startsWith(key, keyStart)
+                || !description.startsWith(IMAGE_ID_PREFIX, idStart)) {
+            return false;
         }
-        // store=ebs,ancestor_name=ebs-centosbase-x86_64-20101124,ancestor_id=ami-7b4eb912
-        matcher = ANCESTOR_NAME_PATTERN.matcher(imageDescription);
-        if (matcher.matches()) {
-            return matcher.group(1);
+        for (int i = idStart + IMAGE_ID_PREFIX.length(); i < idStart + IMAGE_ID_LENGTH; i++) {
+            char c = description.charAt(i);
+            if ((c < 'a' || c > 'z') && (c < '0' || c > '9')) {
+                return false;
+            }
         }
-        return null;
+        return true;
+    }
+
+    private static boolean isName(String description, int keyStart, String key) {
+        int nameStart = keyStart + key.length();
+        return nameStart < description.length() && description.charAt(nameStart) != ','
+                && description.startsWith(key, keyStart);
+    }
+
+    /**
+     * Finds the last date in a base AMI name that is followed by either a hyphen or the end of the name, such as
+     * ebs-centosbase-x86_64-20101124. Out of range months and days roll over into the next month or year, the same
+     * as a lenient yyyyMMdd date format would.
+     *
+     * @return days since 1970-01-01, or NO_DATE
+     */
+    private static int parseDate(String baseAmiName) {
+        int length = baseAmiName.length();
+        for (int hyphen = baseAmiName.lastIndexOf('-'); hyphen >= 0; hyphen = baseAmiName.lastIndexOf('-', hyphen - 1)) {
+            int start = hyphen + 1;
+            int end = start + DATE_LENGTH;
+            if (end > length || (end < length && baseAmiName.charAt(end) != '-')
+                    || baseAmiName.charAt(start) != '2' || baseAmiName.charAt(start + 1) != '0') {
+                continue;
+            }
+            int date = 0;
+            for (int i = start; i < end && date >= 0; i++) {
+                char c = baseAmiName.charAt(i);
+                date = c >= '0' && c <= '9' ? date * 10 + (c - '0') : -1;
+            }
+            if (date >= 0) {
+                // Example: 20100823
+                return (int) LocalDate.of(date / 10000, 1, 1)
+                        .plusMonths(date / 100 % 100 - 1)
+                        .plusDays(date % 100 - 1)
+                        .toEpochDay();
+            }
+        }
+        return NO_DATE;
     }
 
     public String getBaseAmiId() {
@@ -102,15 +198,33 @@ public class BaseAmiInfo {
         return baseAmiName;
     }
 
+    /**
+     * @return the date in the base AMI name, at the start of that day in the default time zone
+     */
     public Date getBaseAmiDate() {
-        return baseAmiDate != null ? (Date) baseAmiDate.clone() : null;
+        LocalDate date = getBaseAmiLocalDate();
+        return date != null ? Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant()) : null;
+    }
+
+    /**
+     * @return the date in the base AMI name
+     */
+    public LocalDate getBaseAmiLocalDate() {
+        return baseAmiEpochDay != NO_DATE ? LocalDate.ofEpochDay(baseAmiEpochDay) : null;
+    }
+
+    /**
+     * @return the base AMI date as a count of days since 1970-01-01, or Integer.MIN_VALUE if there is none
+     */
+    int getBaseAmiEpochDay() {
+        return baseAmiEpochDay;
     }
 
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((baseAmiDate == null) ? 0 : baseAmiDate.hashCode());
+        result = prime * result + baseAmiEpochDay;
         result = prime * result + ((baseAmiId == null) ? 0 : baseAmiId.hashCode());
         result = prime * result + ((baseAmiName == null) ? 0 : baseAmiName.hashCode());
         return result;
@@ -125,10 +239,7 @@ public class BaseAmiInfo {
         if (getClass() != obj.getClass())
             return false;
         BaseAmiInfo other = (BaseAmiInfo) obj;
-        if (baseAmiDate == null) {
-            if (other.baseAmiDate != null)
-                return false;
-        } else if (!baseAmiDate.equals(other.baseAmiDate))
+        if (baseAmiEpochDay != other.baseAmiEpochDay)
             return false;
         if (baseAmiId == null) {
             if (other.baseAmiId != null)
@@ -145,7 +256,7 @@ public class BaseAmiInfo {
 
     @Override
     public String toString() {
-        return "BaseAmiInfo [baseAmiId=" + baseAmiId + ", baseAmiName=" + baseAmiName + ", baseAmiDate=" + baseAmiDate
+        return "BaseAmiInfo [baseAmiId=" + baseAmiId + ", baseAmiName=" + baseAmiName + ", baseAmiDate=" + getBaseAmiDate()
                 + "]";
     }
 
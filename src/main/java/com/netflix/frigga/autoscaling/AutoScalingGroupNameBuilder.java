@@ -20,16 +20,14 @@ import com.netflix.frigga.NameBuilder;
 import com.netflix.frigga.NameConstants;
 import com.netflix.frigga.NameValidation;
 
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * Logic for constructing the name of a new auto scaling group in Asgard.
  */
 public class AutoScalingGroupNameBuilder extends NameBuilder {
 
-    private static final Pattern CONTAINS_PUSH_PATTERN =
-        Pattern.compile("(^|-)" + NameConstants.PUSH_FORMAT + "(-|$)");
-
     private String appName;
     private String stack;
     private String detail;
@@ -59,35 +57,85 @@ public class AutoScalingGroupNameBuilder extends NameBuilder {
      */
     public String buildGroupName(Boolean doValidation) {
         NameValidation.notEmpty(appName, "appName");
+        return appendGroupName(new StringBuilder(), doValidation).toString();
+    }
 
+    /**
+     * Same as {@code buildGroupName(Boolean)}, but appends the name to a caller supplied buffer, growing it at most
+     * once. The buffer can be cleared and reused across calls to build many names without creating intermediate
+     * strings.
+     *
+     * @param target the buffer to append the name to
+     * @param doValidation validate the supplied parameters before constructing the name
+     * @return target
+     */
+    public StringBuilder appendGroupName(StringBuilder target, boolean doValidation) {
+        NameValidation.notEmpty(appName, "appName");
         if (doValidation) {
-            validateNames(appName, stack, countries, devPhase, hardware, partners, revision, usedBy, redBlackSwap,
-                    zoneVar);
-            if (detail != null && !detail.isEmpty() && !NameValidation.checkNameWithHyphen(detail)) {
-                throw new IllegalArgumentException("(Use alphanumeric characters only)");
-            }
-            validateDoesNotContainPush("stack", stack);
-            validateDoesNotContainPush("detail", detail);
+            validate();
         }
+        target.ensureCapacity(target.length() + groupNameLength());
+        try {
+            return writeGroupName(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
+        }
+    }
 
-        // Build the labeled variables for the end of the group name.
-        String labeledVars = "";
-        labeledVars += generateIfSpecified(NameConstants.COUNTRIES_KEY, countries);
-        labeledVars += generateIfSpecified(NameConstants.DEV_PHASE_KEY, devPhase);
-        labeledVars += generateIfSpecified(NameConstants.HARDWARE_KEY, hardware);
-        labeledVars += generateIfSpecified(NameConstants.PARTNERS_KEY, partners);
-        labeledVars += generateIfSpecified(NameConstants.REVISION_KEY, revision);
-        labeledVars += generateIfSpecified(NameConstants.USED_BY_KEY, usedBy);
-        labeledVars += generateIfSpecified(NameConstants.RED_BLACK_SWAP_KEY, redBlackSwap);
-        labeledVars += generateIfSpecified(NameConstants.ZONE_KEY, zoneVar);
-
-        String result = combineAppStackDetail(appName, stack, detail) + labeledVars;
+    /**
+     * Same as {@code buildGroupName(Boolean)}, but appends the name to any Appendable.
+     *
+     * @param target the destination to append the name to
+     * @param doValidation validate the supplied parameters before constructing the name
+     * @return target
+     * @throws IOException if target fails to append
+     */
+    public <A extends Appendable> A appendGroupName(A target, boolean doValidation) throws IOException {
+        NameValidation.notEmpty(appName, "appName");
+        if (doValidation) {
+            validate();
+        }
+        return writeGroupName(target);
+    }
 
-        return result;
+    private void validate() {
+        validateNames(appName, stack, countries, devPhase, hardware, partners, revision, usedBy, redBlackSwap,
+                zoneVar);
+        if (detail != null && !detail.isEmpty() && !NameValidation.checkNameWithHyphen(detail)) {
+            throw new IllegalArgumentException("(Use alphanumeric characters only)");
+        }
+        validateDoesNotContainPush("stack", stack);
+        validateDoesNotContainPush("detail", detail);
+    }
+
+    private <A extends Appendable> A writeGroupName(A target) throws IOException {
+        appendAppStackDetail(target, appName, stack, detail);
+        // Append the labeled variables to the end of the group name.
+        appendIfSpecified(target, NameConstants.COUNTRIES_KEY, countries);
+        appendIfSpecified(target, NameConstants.DEV_PHASE_KEY, devPhase);
+        appendIfSpecified(target, NameConstants.HARDWARE_KEY, hardware);
+        appendIfSpecified(target, NameConstants.PARTNERS_KEY, partners);
+        appendIfSpecified(target, NameConstants.REVISION_KEY, revision);
+        appendIfSpecified(target, NameConstants.USED_BY_KEY, usedBy);
+        appendIfSpecified(target, NameConstants.RED_BLACK_SWAP_KEY, redBlackSwap);
+        appendIfSpecified(target, NameConstants.ZONE_KEY, zoneVar);
+        return target;
+    }
+
+    private int groupNameLength() {
+        return appStackDetailLength(appName, stack, detail)
+                + labeledVariableLength(NameConstants.COUNTRIES_KEY, countries)
+                + labeledVariableLength(NameConstants.DEV_PHASE_KEY, devPhase)
+                + labeledVariableLength(NameConstants.HARDWARE_KEY, hardware)
+                + labeledVariableLength(NameConstants.PARTNERS_KEY, partners)
+                + labeledVariableLength(NameConstants.REVISION_KEY, revision)
+                + labeledVariableLength(NameConstants.USED_BY_KEY, usedBy)
+                + labeledVariableLength(NameConstants.RED_BLACK_SWAP_KEY, redBlackSwap)
+                + labeledVariableLength(NameConstants.ZONE_KEY, zoneVar);
     }
 
     private static void validateDoesNotContainPush(String field, String name) {
-        if (name != null && !name.isEmpty() && CONTAINS_PUSH_PATTERN.matcher(name).find()) {
+        if (name != null && !name.isEmpty() && NameValidation.containsPushVersion(name)) {
             throw new IllegalArgumentException(field + " cannot contain a push version");
         }
     }
@@ -100,11 +148,17 @@ public class AutoScalingGroupNameBuilder extends NameBuilder {
         }
     }
 
-    private static String generateIfSpecified(String key, String value) {
+    private static void appendIfSpecified(Appendable target, String key, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            target.append('-').append(key).append(NameConstants.LABELED_VAR_SEPARATOR).append(value);
+        }
+    }
+
+    private static int labeledVariableLength(String key, String value) {
         if (value != null && !value.isEmpty()) {
-            return "-" + key + NameConstants.LABELED_VAR_SEPARATOR + value;
+            return 1 + key.length() + NameConstants.LABELED_VAR_SEPARATOR.length() + value.length();
         }
-        return "";
+        return 0;
     }
 
     public static String buildNextGroupName(String asg) {
@@ -0,0 +1,173 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.autoscaling;
+
+import com.netflix.frigga.Names;
+import com.netflix.frigga.cluster.AsgNameProvider;
+import com.netflix.frigga.cluster.PushOrdering;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out unique next auto scaling group names per cluster to concurrent callers. Where
+ * {@link AutoScalingGroupNameBuilder#buildNextGroupName(String)} computes the next name from a single existing ASG, and
+ * so gives racing deployments the same answer, the allocator remembers the last sequence handed out for each cluster
+ * and advances it with compare-and-set, without locking.
+ *
+ * Names use the same 3 digit push format as buildNextGroupName, and sequences wrap from 999 back to 000.
+ */
+public class SequenceAllocator {
+
+    static final int SEQUENCE_RANGE = 1000;
+    private static final int NOT_PUSHED = -1;
+
+    private final ConcurrentMap<String, AtomicInteger> lastSequences = new ConcurrentHashMap<String, AtomicInteger>();
+
+    /**
+     * Creates an allocator seeded with the existing ASGs of one or more clusters.
+     *
+     * @param asgNames names of existing auto scaling groups
+     * @return allocator that continues after the newest push of each cluster
+     */
+    public static SequenceAllocator seededFrom(Collection<String> asgNames) {
+        SequenceAllocator allocator = new SequenceAllocator();
+        allocator.seed(asgNames);
+        return allocator;
+    }
+
+    /**
+     * Records the existing ASGs of one or more clusters, so that allocation continues after the newest push of each
+     * cluster, taking the wraparound into account. Replaces anything previously allocated for those clusters.
+     *
+     * @param asgNames names of existing auto scaling groups
+     */
+    public void seed(Collection<String> asgNames) {
+        PushOrdering<String> ordering = new PushOrdering<String>(new AsgNameProvider<String>() {
+            public String extractAsgName(String asgName) {
+                return asgName;
+            }
+        });
+        ordering.addAll(asgNames);
+        Set<String> clusters = new HashSet<String>();
+        for (String asgName : asgNames) {
+            String cluster = Names.parseName(asgName).getCluster();
+            if (cluster != null && clusters.add(cluster)) {
+                Integer sequence = Names.parseName(ordering.getLatest(cluster)).getSequence();
+                counterOf(cluster).set(sequence == null ? NOT_PUSHED : sequence);
+            }
+        }
+    }
+
+    /**
+     * Allocates the next name of a cluster. Concurrent callers never receive the same name, until the sequence wraps.
+     *
+     * @param asg the name of the cluster, or of any of its auto scaling groups
+     * @return the next auto scaling group name of the cluster
+     */
+    public String allocateNextGroupName(String asg) {
+        String cluster = clusterOf(asg);
+        return formatGroupName(cluster, advance(cluster, 1));
+    }
+
+    /**
+     * Reserves several consecutive names of a cluster at once.
+     *
+     * @param asg the name of the cluster, or of any of its auto scaling groups
+     * @param count the number of names to reserve, at most 1000
+     * @return the reserved auto scaling group names in push order
+     */
+    public List<String> allocateNextGroupNames(String asg, int count) {
+        if (count < 1 || count > SEQUENCE_RANGE) {
+            throw new IllegalArgumentException("count must be between 1 and " + SEQUENCE_RANGE);
+        }
+        String cluster = clusterOf(asg);
+        int first = advance(cluster, count);
+        List<String> names = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(formatGroupName(cluster, (first + i) % SEQUENCE_RANGE));
+        }
+        return names;
+    }
+
+    /**
+     * @param asg the name of the cluster, or of any of its auto scaling groups
+     * @return the last sequence handed out or seeded for the cluster, or null if there is none
+     */
+    public Integer getLastSequence(String asg) {
+        AtomicInteger last = lastSequences.get(clusterOf(asg));
+        return last == null || last.get() == NOT_PUSHED ? null : last.get();
+    }
+
+    /**
+     * Moves the last sequence of the cluster forward by count.
+     *
+     * @return the first of the count allocated sequences
+     */
+    private int advance(String cluster, int count) {
+        AtomicInteger last = counterOf(cluster);
+        while (true) {
+            int previous = last.get();
+            int first = nextSequence(previous);
+            if (last.compareAndSet(previous, (first + count - 1) % SEQUENCE_RANGE)) {
+                return first;
+            }
+        }
+    }
+
+    /**
+     * The counter of a cluster is never replaced once it is in the map, so that seeding and allocating always update
+     * the same counter, and a compare-and-set in progress cannot succeed on a counter that is no longer used.
+     */
+    private AtomicInteger counterOf(String cluster) {
+        AtomicInteger last = lastSequences.get(cluster);
+        if (last == null) {
+            AtomicInteger created = new AtomicInteger(NOT_PUSHED);
+            last = lastSequences.putIfAbsent(cluster, created);
+            if (last == null) {
+                last = created;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Same progression as buildNextGroupName: the first push is 0, and anything past 999 wraps to 0.
+     */
+    static int nextSequence(int sequence) {
+        int next = sequence + 1;
+        return next >= SEQUENCE_RANGE ? 0 : next;
+    }
+
+    static String formatGroupName(String cluster, int sequence) {
+        char[] push = {'-', 'v', (char) ('0' + sequence / 100), (char) ('0' + sequence / 10 % 10),
+            (char) ('0' + sequence % 10)};
+        return new StringBuilder(cluster.length() + push.length).append(cluster).append(push).toString();
+    }
+
+    private static String clusterOf(String asg) {
+        if (asg == null) throw new IllegalArgumentException("asg name must be specified");
+        String cluster = Names.parseName(asg).getCluster();
+        if (cluster == null) throw new IllegalArgumentException(String.format("Invalid name '%s'", asg));
+        return cluster;
+    }
+}
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collector;
 
 /**
  * Utility methods for grouping ASG related objects by cluster. The cluster name is derived from the name of the ASG.
@@ -39,15 +40,57 @@ public class ClusterGrouper {
     public static <T> Map<String, List<T>> groupByClusterName(List<T> inputs, AsgNameProvider<T> nameProvider) {
         Map<String, List<T>> clusterNamesToAsgs = new HashMap<String, List<T>>();
         for (T input : inputs) {
-            String clusterName = Names.parseName(nameProvider.extractAsgName(input)).getCluster();
-            if (!clusterNamesToAsgs.containsKey(clusterName)) {
-                clusterNamesToAsgs.put(clusterName, new ArrayList<T>());
-            }
-            clusterNamesToAsgs.get(clusterName).add(input);
+            addToCluster(clusterNamesToAsgs, input, nameProvider);
         }
         return clusterNamesToAsgs;
     }
 
+    /**
+     * Same as {@code groupByClusterName}, but parses and groups the inputs in parallel on the common fork-join pool.
+     * Objects in each cluster keep the order they had in the input list.
+     *
+     * @param <T> Type to group
+     * @param inputs list of objects associated with an ASG
+     * @param nameProvider strategy object used to extract the ASG name of the object type of the input list
+     * @return map of cluster name to list of input object
+     */
+    public static <T> Map<String, List<T>> groupByClusterNameInParallel(List<T> inputs,
+                                                                      AsgNameProvider<T> nameProvider) {
+        return inputs.parallelStream().collect(byCluster(nameProvider));
+    }
+
+    /**
+     * A Collector that groups ASG related objects by cluster name, for use in sequential or parallel streams. Like
+     * {@code groupByClusterName}, objects whose ASG name can't be parsed are grouped under the null cluster name.
+     * Each thread of a parallel stream groups into its own map, and the partial maps are merged in encounter order.
+     *
+     * @param <T> Type to group
+     * @param nameProvider strategy object used to extract the ASG name of the grouped objects
+     * @return collector producing a map of cluster name to list of input object
+     */
+    public static <T> Collector<T, ?, Map<String, List<T>>> byCluster(final AsgNameProvider<T> nameProvider) {
+        return Collector.of(
+            HashMap::new,
+            (Map<String, List<T>> clusters, T input) -> addToCluster(clusters, input, nameProvider),
+            ClusterGrouper::mergeClusters,
+            Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    private static <T> void addToCluster(Map<String, List<T>> clusters, T input, AsgNameProvider<T> nameProvider) {
+        String clusterName = Names.parseName(nameProvider.extractAsgName(input)).getCluster();
+        clusters.computeIfAbsent(clusterName, k -> new ArrayList<T>()).add(input);
+    }
+
+    private static <T> Map<String, List<T>> mergeClusters(Map<String, List<T>> left, Map<String, List<T>> right) {
+        for (Map.Entry<String, List<T>> entry : right.entrySet()) {
+            List<T> existing = left.putIfAbsent(entry.getKey(), entry.getValue());
+            if (existing != null) {
+                existing.addAll(entry.getValue());
+            }
+        }
+        return left;
+    }
+
     /**
      * Groups a list of ASG names by cluster name.
      *
@@ -0,0 +1,244 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.cluster;
+
+import com.netflix.frigga.Names;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable index of ASG related objects keyed by the app, stack, and detail parsed from their ASG names, for
+ * answering questions such as "all clusters of app X" or "all ASGs of X-prod-*" without parsing and filtering every
+ * name. Stacks and details are kept sorted, so detail prefix queries take time proportional to the size of the result.
+ *
+ * Objects whose ASG name can't be parsed have no app and are left out of the index. Once built, the index can be
+ * shared between threads.
+ *
+ * @param <T> Type to index
+ */
+public class ClusterHierarchy<T> {
+
+    private final Map<String, AppNode<T>> apps = new HashMap<String, AppNode<T>>();
+
+    private ClusterHierarchy() { }
+
+    /**
+     * Indexes a list of ASG names.
+     *
+     * @param asgNames list of asg names
+     * @return index of the ASG names
+     */
+    public static ClusterHierarchy<String> ofAsgNames(Collection<String> asgNames) {
+        return of(asgNames, new AsgNameProvider<String>() {
+            public String extractAsgName(String asgName) {
+                return asgName;
+            }
+        });
+    }
+
+    /**
+     * Indexes a list of ASG related objects.
+     *
+     * @param <T> Type to index
+     * @param inputs objects associated with an ASG
+     * @param nameProvider strategy object used to extract the ASG name of the object type of the input list
+     * @return index of the objects
+     */
+    public static <T> ClusterHierarchy<T> of(Collection<T> inputs, AsgNameProvider<T> nameProvider) {
+        ClusterHierarchy<T> hierarchy = new ClusterHierarchy<T>();
+        for (T input : inputs) {
+            Names names = Names.parseName(nameProvider.extractAsgName(input));
+            if (names.getApp() != null) {
+                hierarchy.add(names, input);
+            }
+        }
+        return hierarchy;
+    }
+
+    private void add(Names names, T input) {
+        AppNode<T> app = apps.get(names.getApp());
+        if (app == null) {
+            app = new AppNode<T>();
+            apps.put(names.getApp(), app);
+        }
+        StackNode<T> stack;
+        if (names.getStack() == null) {
+            stack = app.noStack;
+        } else {
+            stack = app.stacks.get(names.getStack());
+            if (stack == null) {
+                stack = new StackNode<T>();
+                app.stacks.put(names.getStack(), stack);
+            }
+        }
+        Map<String, List<T>> clusters;
+        if (names.getDetail() == null) {
+            clusters = stack.noDetail;
+        } else {
+            clusters = stack.details.get(names.getDetail());
+            if (clusters == null) {
+                clusters = new LinkedHashMap<String, List<T>>();
+                stack.details.put(names.getDetail(), clusters);
+            }
+        }
+        List<T> members = clusters.get(names.getCluster());
+        if (members == null) {
+            members = new ArrayList<T>();
+            clusters.put(names.getCluster(), members);
+        }
+        members.add(input);
+    }
+
+    /**
+     * @return the names of all indexed apps
+     */
+    public Set<String> getApps() {
+        return Collections.unmodifiableSet(apps.keySet());
+    }
+
+    /**
+     * @param app the app name
+     * @return the sorted stacks of the app, not including the absence of a stack
+     */
+    public Set<String> getStacks(String app) {
+        AppNode<T> node = apps.get(app);
+        return node == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(node.stacks.keySet());
+    }
+
+    /**
+     * @param app the app name
+     * @return the names of every cluster of the app
+     */
+    public List<String> getClusterNames(String app) {
+        List<String> clusterNames = new ArrayList<String>();
+        AppNode<T> node = apps.get(app);
+        if (node != null) {
+            node.noStack.collectClusterNames(null, clusterNames);
+            for (StackNode<T> stack : node.stacks.values()) {
+                stack.collectClusterNames(null, clusterNames);
+            }
+        }
+        return clusterNames;
+    }
+
+    /**
+     * @param app the app name
+     * @param stack the stack, or null for clusters without a stack
+     * @param detailPrefix only include clusters whose detail starts with this prefix, or null for every cluster of the
+     *                     stack including those without a detail
+     * @return the names of the matching clusters
+     */
+    public List<String> getClusterNames(String app, String stack, String detailPrefix) {
+        List<String> clusterNames = new ArrayList<String>();
+        StackNode<T> node = findStack(app, stack);
+        if (node != null) {
+            node.collectClusterNames(detailPrefix, clusterNames);
+        }
+        return clusterNames;
+    }
+
+    /**
+     * @param app the app name
+     * @return every object of the app
+     */
+    public List<T> getMembers(String app) {
+        List<T> members = new ArrayList<T>();
+        AppNode<T> node = apps.get(app);
+        if (node != null) {
+            node.noStack.collectMembers(null, members);
+            for (StackNode<T> stack : node.stacks.values()) {
+                stack.collectMembers(null, members);
+            }
+        }
+        return members;
+    }
+
+    /**
+     * @param app the app name
+     * @param stack the stack, or null for objects without a stack
+     * @param detailPrefix only include objects whose detail starts with this prefix, or null for every object of the
+     *                     stack including those without a detail
+     * @return the matching objects
+     */
+    public List<T> getMembers(String app, String stack, String detailPrefix) {
+        List<T> members = new ArrayList<T>();
+        StackNode<T> node = findStack(app, stack);
+        if (node != null) {
+            node.collectMembers(detailPrefix, members);
+        }
+        return members;
+    }
+
+    private StackNode<T> findStack(String app, String stack) {
+        AppNode<T> node = apps.get(app);
+        if (node == null) {
+            return null;
+        }
+        return stack == null ? node.noStack : node.stacks.get(stack);
+    }
+
+    private static final class AppNode<T> {
+        private final StackNode<T> noStack = new StackNode<T>();
+        private final NavigableMap<String, StackNode<T>> stacks = new TreeMap<String, StackNode<T>>();
+    }
+
+    private static final class StackNode<T> {
+        private final Map<String, List<T>> noDetail = new LinkedHashMap<String, List<T>>();
+        private final NavigableMap<String, Map<String, List<T>>> details =
+                new TreeMap<String, Map<String, List<T>>>();
+
+        /**
+         * @return the clusters of the details starting with detailPrefix, or of all details when it is null
+         */
+        private Iterable<Map<String, List<T>>> clusters(String detailPrefix) {
+            List<Map<String, List<T>>> clusters = new ArrayList<Map<String, List<T>>>();
+            if (detailPrefix == null) {
+                clusters.add(noDetail);
+                clusters.addAll(details.values());
+                return clusters;
+            }
+            for (Map.Entry<String, Map<String, List<T>>> entry : details.tailMap(detailPrefix, true).entrySet()) {
+                if (!entry.getKey().startsWith(detailPrefix)) {
+                    break;
+                }
+                clusters.add(entry.getValue());
+            }
+            return clusters;
+        }
+
+        private void collectClusterNames(String detailPrefix, List<String> clusterNames) {
+            for (Map<String, List<T>> clusters : clusters(detailPrefix)) {
+                clusterNames.addAll(clusters.keySet());
+            }
+        }
+
+        private void collectMembers(String detailPrefix, List<T> members) {
+            for (Map<String, List<T>> clusters : clusters(detailPrefix)) {
+                for (List<T> clusterMembers : clusters.values()) {
+                    members.addAll(clusterMembers);
+                }
+            }
+        }
+    }
+}
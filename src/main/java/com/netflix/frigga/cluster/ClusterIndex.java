@@ -0,0 +1,201 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.cluster;
+
+import com.netflix.frigga.Names;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mutable, thread-safe grouping of ASG related objects by cluster name that is kept up to date from add and remove
+ * events, rather than regrouping the full list with {@link ClusterGrouper} each time something changes.
+ *
+ * Each add or remove parses a single ASG name and does constant time work. Reads take a consistent snapshot: no read
+ * observes part of a concurrent add or remove. Like ClusterGrouper, objects whose ASG name can't be parsed are grouped
+ * under the null cluster name. Objects must keep the same ASG name while they are in the index.
+ *
+ * @param <T> Type to group
+ */
+public class ClusterIndex<T> {
+
+    private final AsgNameProvider<T> nameProvider;
+    private final Map<String, Set<T>> clusters = new HashMap<String, Set<T>>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    /**
+     * @param nameProvider strategy object used to extract the ASG name of the indexed objects
+     */
+    public ClusterIndex(AsgNameProvider<T> nameProvider) {
+        if (nameProvider == null) {
+            throw new NullPointerException("ERROR: Trying to use null nameProvider");
+        }
+        this.nameProvider = nameProvider;
+    }
+
+    /**
+     * Adds an object to the cluster of its ASG name.
+     *
+     * @param input object associated with an ASG
+     * @return true if the object was not already in the index
+     */
+    public boolean add(T input) {
+        String clusterName = clusterNameOf(input);
+        lock.writeLock().lock();
+        try {
+            Set<T> members = clusters.get(clusterName);
+            if (members == null) {
+                members = new LinkedHashSet<T>();
+                clusters.put(clusterName, members);
+            }
+            if (!members.add(input)) {
+                return false;
+            }
+            size++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds many objects, for example to seed the index from a full listing.
+     *
+     * @param inputs objects associated with an ASG
+     */
+    public void addAll(Collection<? extends T> inputs) {
+        for (T input : inputs) {
+            add(input);
+        }
+    }
+
+    /**
+     * Removes an object from the cluster of its ASG name. A cluster with no remaining objects is dropped.
+     *
+     * @param input object associated with an ASG
+     * @return true if the object was in the index
+     */
+    public boolean remove(T input) {
+        String clusterName = clusterNameOf(input);
+        lock.writeLock().lock();
+        try {
+            Set<T> members = clusters.get(clusterName);
+            if (members == null || !members.remove(input)) {
+                return false;
+            }
+            if (members.isEmpty()) {
+                clusters.remove(clusterName);
+            }
+            size--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every object from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clusters.clear();
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param clusterName the name of the cluster, or null for objects whose ASG name can't be parsed
+     * @return a copy of the objects in the cluster, in the order they were added, or an empty list
+     */
+    public List<T> getCluster(String clusterName) {
+        lock.readLock().lock();
+        try {
+            Set<T> members = clusters.get(clusterName);
+            return members == null ? Collections.<T>emptyList() : new ArrayList<T>(members);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return a copy of the names of all clusters with at least one object
+     */
+    public Set<String> getClusterNames() {
+        lock.readLock().lock();
+        try {
+            return new LinkedHashSet<String>(clusters.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Takes a consistent copy of the whole index, in the same form as {@link ClusterGrouper#groupByClusterName}.
+     *
+     * @return map of cluster name to list of objects
+     */
+    public Map<String, List<T>> snapshot() {
+        lock.readLock().lock();
+        try {
+            Map<String, List<T>> snapshot = new HashMap<String, List<T>>(clusters.size() * 4 / 3 + 1);
+            for (Map.Entry<String, Set<T>> entry : clusters.entrySet()) {
+                snapshot.put(entry.getKey(), new ArrayList<T>(entry.getValue()));
+            }
+            return snapshot;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of objects in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of clusters with at least one object
+     */
+    public int getClusterCount() {
+        lock.readLock().lock();
+        try {
+            return clusters.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String clusterNameOf(T input) {
+        return Names.parseName(nameProvider.extractAsgName(input)).getCluster();
+    }
+}
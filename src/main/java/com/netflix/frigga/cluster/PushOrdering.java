@@ -0,0 +1,247 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.cluster;
+
+import com.netflix.frigga.Names;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the newest and the previous push of every cluster as ASG related objects are added and removed,
+ * so that red/black automation can look them up in constant time instead of grouping, parsing, and sorting.
+ *
+ * Push sequences wrap from 999 back to 000, as in {@link com.netflix.frigga.autoscaling.AutoScalingGroupNameBuilder},
+ * so a plain numeric sort is not enough. The sequences of a cluster are placed on a ring of 1000 positions and the
+ * newest push is the one followed by the largest gap, which is where the next push would go. For example v998, v999,
+ * v000 orders v000 as the newest and v999 as the previous push. Sequences of 1000 and above share the position of their
+ * last three digits and are ordered after smaller sequences at the same position. An ASG without a push is older than
+ * any pushed ASG of the same cluster, since the first push of a cluster is v000.
+ *
+ * Adding or removing an object takes time proportional to the size of its cluster, which is normally a handful of
+ * ASGs. Thread-safe.
+ *
+ * @param <T> Type to order
+ */
+public class PushOrdering<T> {
+
+    private static final int SEQUENCE_RANGE = 1000;
+
+    private final AsgNameProvider<T> nameProvider;
+    private final Map<String, ClusterPushes<T>> clusters = new HashMap<String, ClusterPushes<T>>();
+
+    /**
+     * @param nameProvider strategy object used to extract the ASG name of the ordered objects
+     */
+    public PushOrdering(AsgNameProvider<T> nameProvider) {
+        if (nameProvider == null) {
+            throw new NullPointerException("ERROR: Trying to use null nameProvider");
+        }
+        this.nameProvider = nameProvider;
+    }
+
+    /**
+     * Adds an object to the pushes of its cluster.
+     *
+     * @param input object associated with an ASG
+     * @return true if the object was added, false if it was already present or its ASG name can't be parsed
+     */
+    public synchronized boolean add(T input) {
+        Names names = Names.parseName(nameProvider.extractAsgName(input));
+        if (names.getCluster() == null) {
+            return false;
+        }
+        ClusterPushes<T> pushes = clusters.get(names.getCluster());
+        if (pushes == null) {
+            pushes = new ClusterPushes<T>();
+            clusters.put(names.getCluster(), pushes);
+        }
+        return pushes.add(input, names.getSequence() == null ? -1 : names.getSequence());
+    }
+
+    /**
+     * Adds many objects, for example to seed the ordering from a full listing.
+     *
+     * @param inputs objects associated with an ASG
+     */
+    public synchronized void addAll(Collection<? extends T> inputs) {
+        for (T input : inputs) {
+            add(input);
+        }
+    }
+
+    /**
+     * Removes an object from the pushes of its cluster.
+     *
+     * @param input object associated with an ASG
+     * @return true if the object was present
+     */
+    public synchronized boolean remove(T input) {
+        String clusterName = Names.parseName(nameProvider.extractAsgName(input)).getCluster();
+        ClusterPushes<T> pushes = clusters.get(clusterName);
+        if (pushes == null || !pushes.remove(input)) {
+            return false;
+        }
+        if (pushes.isEmpty()) {
+            clusters.remove(clusterName);
+        }
+        return true;
+    }
+
+    /**
+     * @param clusterName the name of the cluster
+     * @return the newest push of the cluster, or null if the cluster is unknown
+     */
+    public synchronized T getLatest(String clusterName) {
+        ClusterPushes<T> pushes = clusters.get(clusterName);
+        return pushes == null ? null : pushes.latest;
+    }
+
+    /**
+     * @param clusterName the name of the cluster
+     * @return the push before the newest push of the cluster, or null if the cluster has fewer than two ASGs
+     */
+    public synchronized T getPrevious(String clusterName) {
+        ClusterPushes<T> pushes = clusters.get(clusterName);
+        return pushes == null ? null : pushes.previous;
+    }
+
+    /**
+     * @param clusterName the name of the cluster
+     * @return the pushes of the cluster from oldest to newest
+     */
+    public synchronized List<T> getPushes(String clusterName) {
+        ClusterPushes<T> pushes = clusters.get(clusterName);
+        return pushes == null ? Collections.<T>emptyList() : pushes.ordered();
+    }
+
+    private static final class Push<T> {
+        private final T input;
+        private final int sequence;
+
+        private Push(T input, int sequence) {
+            this.input = input;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final Comparator<Push<?>> RING_ORDER = new Comparator<Push<?>>() {
+        @Override
+        public int compare(Push<?> one, Push<?> two) {
+            int comparison = Integer.compare(one.sequence % SEQUENCE_RANGE, two.sequence % SEQUENCE_RANGE);
+            return comparison != 0 ? comparison : Integer.compare(one.sequence, two.sequence);
+        }
+    };
+
+    private static final class ClusterPushes<T> {
+        private final List<Push<T>> unpushed = new ArrayList<Push<T>>();
+        private final List<Push<T>> pushed = new ArrayList<Push<T>>();
+        /** Index in pushed of the newest push, or -1 if nothing has been pushed. */
+        private int newest = -1;
+        private T latest;
+        private T previous;
+
+        private boolean add(T input, int sequence) {
+            if (indexOf(unpushed, input) >= 0 || indexOf(pushed, input) >= 0) {
+                return false;
+            }
+            Push<T> push = new Push<T>(input, sequence);
+            if (sequence < 0) {
+                unpushed.add(push);
+            } else {
+                int index = Collections.binarySearch(pushed, push, RING_ORDER);
+                pushed.add(index < 0 ? -index - 1 : index, push);
+            }
+            update();
+            return true;
+        }
+
+        private boolean remove(T input) {
+            int index = indexOf(unpushed, input);
+            if (index >= 0) {
+                unpushed.remove(index);
+            } else {
+                index = indexOf(pushed, input);
+                if (index < 0) {
+                    return false;
+                }
+                pushed.remove(index);
+            }
+            update();
+            return true;
+        }
+
+        private boolean isEmpty() {
+            return unpushed.isEmpty() && pushed.isEmpty();
+        }
+
+        private void update() {
+            newest = -1;
+            int largestGap = -1;
+            for (int i = 0; i < pushed.size(); i++) {
+                int position = pushed.get(i).sequence % SEQUENCE_RANGE;
+                int nextPosition = i + 1 < pushed.size()
+                        ? pushed.get(i + 1).sequence % SEQUENCE_RANGE
+                        : pushed.get(0).sequence % SEQUENCE_RANGE + SEQUENCE_RANGE;
+                int gap = nextPosition - position;
+                if (gap >= largestGap) {
+                    largestGap = gap;
+                    newest = i;
+                }
+            }
+            // Same as the last two of ordered(): the pushes end at newest and are preceded by the unpushed ASGs
+            latest = fromNewest(0);
+            previous = fromNewest(1);
+        }
+
+        /**
+         * @param back how many pushes before the newest, where 0 is the newest itself
+         * @return the object at that position counting back from the end of ordered(), or null if there is none
+         */
+        private T fromNewest(int back) {
+            int pushedCount = pushed.size();
+            if (back < pushedCount) {
+                return pushed.get((newest - back + pushedCount) % pushedCount).input;
+            }
+            int unpushedIndex = unpushed.size() - 1 - (back - pushedCount);
+            return unpushedIndex >= 0 ? unpushed.get(unpushedIndex).input : null;
+        }
+
+        private List<T> ordered() {
+            List<T> ordered = new ArrayList<T>(unpushed.size() + pushed.size());
+            for (Push<T> push : unpushed) {
+                ordered.add(push.input);
+            }
+            for (int i = 1; i <= pushed.size(); i++) {
+                ordered.add(pushed.get((newest + i) % pushed.size()).input);
+            }
+            return ordered;
+        }
+
+        private static <T> int indexOf(List<Push<T>> pushes, T input) {
+            for (int i = 0; i < pushes.size(); i++) {
+                if (pushes.get(i).input.equals(input)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
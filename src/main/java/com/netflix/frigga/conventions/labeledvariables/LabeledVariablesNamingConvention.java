@@ -15,8 +15,10 @@
  */
 package com.netflix.frigga.conventions.labeledvariables;
 
+import com.netflix.frigga.CharacterClass;
 import com.netflix.frigga.NameConstants;
-import com.netflix.frigga.extensions.NamingConvention;
+import com.netflix.frigga.extensions.NameTokens;
+import com.netflix.frigga.extensions.TokenizedNamingConvention;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -26,9 +28,9 @@ import java.util.regex.Pattern;
  *
  * This logic was extracted out of Names (and referenced from there for backwards-ish compatibility).
  */
-public class LabeledVariablesNamingConvention implements NamingConvention<LabeledVariablesNamingResult> {
-  private static final Pattern LABELED_VARS_PATTERN = Pattern.compile(
-      "(.*?)((?:(?:^|-)" +NameConstants.LABELED_VARIABLE + ")+)$");
+public class LabeledVariablesNamingConvention implements TokenizedNamingConvention<LabeledVariablesNamingResult> {
+  private static final String LABELS = NameConstants.LABEL_KEYS;
+  private static final char SEPARATOR = NameConstants.LABELED_VAR_SEPARATOR.charAt(0);
 
   //--------------------------
   //VisibleForTesting:
@@ -42,33 +44,107 @@ public class LabeledVariablesNamingConvention implements NamingConvention<Labele
   static final Pattern LABELED_ZONE_KEY_PATTERN = createLabeledVariablePattern(NameConstants.ZONE_KEY);
   //--------------------------
 
+  /**
+   * Equivalent to matching {@code (.*?)((?:(?:^|-)LABELED_VARIABLE)+)$} and then finding each label in the matched
+   * labeled variables, but done in a single walk over the hyphen separated tokens from the end of the name component.
+   *
+   * The trailing run of labeled variable tokens is found walking backwards. Within that run the leftmost occurrence
+   * of each label wins, matching the unanchored find() of the individual label patterns.
+   */
   @Override
   public LabeledVariablesNamingResult extractNamingConvention(String nameComponent) {
     if (nameComponent == null || nameComponent.isEmpty()) {
       return LabeledVariablesNamingResult.EMPTY;
     }
+    return extract(nameComponent, 0, nameComponent.length(), null);
+  }
 
-    Matcher labeledVarsMatcher = LABELED_VARS_PATTERN.matcher(nameComponent);
-    boolean labeledAndUnlabeledMatches = labeledVarsMatcher.matches();
-    if (!labeledAndUnlabeledMatches) {
+  /**
+   * Same as {@link #extractNamingConvention(String)}, walking the already found tokens instead of searching for
+   * hyphens.
+   */
+  @Override
+  public LabeledVariablesNamingResult extractNamingConvention(NameTokens tokens) {
+    if (tokens.isEmpty()) {
       return LabeledVariablesNamingResult.EMPTY;
     }
+    return extract(tokens.getSource(), tokens.getStart(), tokens.getEnd(), tokens);
+  }
 
-    String unprocessed = labeledVarsMatcher.group(1);
-    String labeledVariables = labeledVarsMatcher.group(2);
+  private LabeledVariablesNamingResult extract(String source, int start, int end, NameTokens tokens) {
+    int[] valueStarts = null;
+    int runStart = -1;
+    int token = tokens != null ? tokens.getTokenCount() - 1 : -1;
+    int tokenEnd = end;
+    while (tokenEnd >= start) {
+      int tokenStart = tokens != null
+          ? tokens.getTokenStart(token--)
+          : Math.max(start, source.lastIndexOf('-', tokenEnd - 1) + 1);
+      if (!isLabeledVariable(source, tokenStart, tokenEnd)) {
+        break;
+      }
+      if (valueStarts == null) {
+        valueStarts = new int[LABELS.length()];
+      }
+      // walk right to left so that the leftmost occurrence of a label is the one that sticks
+      for (int i = tokenEnd - 3; i >= tokenStart; i--) {
+        int label = LABELS.indexOf(source.charAt(i));
+        if (label >= 0 && source.charAt(i + 1) == SEPARATOR) {
+          valueStarts[label] = i + 2;
+        }
+      }
+      runStart = tokenStart;
+      tokenEnd = tokenStart - 1;
+    }
 
-    String countries    = extractLabeledVariable(labeledVariables, LABELED_COUNTRIES_PATTERN);
-    String devPhase     = extractLabeledVariable(labeledVariables, LABELED_DEV_PHASE_KEY_PATTERN);
-    String hardware     = extractLabeledVariable(labeledVariables, LABELED_HARDWARE_KEY_PATTERN);
-    String partners     = extractLabeledVariable(labeledVariables, LABELED_PARTNERS_KEY_PATTERN);
-    String revision     = extractLabeledVariable(labeledVariables, LABELED_REVISION_KEY_PATTERN);
-    String usedBy       = extractLabeledVariable(labeledVariables, LABELED_USED_BY_KEY_PATTERN);
-    String redBlackSwap = extractLabeledVariable(labeledVariables, LABELED_RED_BLACK_SWAP_KEY_PATTERN);
-    String zone         = extractLabeledVariable(labeledVariables, LABELED_ZONE_KEY_PATTERN);
+    if (valueStarts == null) {
+      return LabeledVariablesNamingResult.EMPTY;
+    }
+
+    int unprocessedEnd = runStart == start ? start : runStart - 1;
+    boolean lineTerminator = tokens != null
+        ? tokens.containsLineTerminator(start, unprocessedEnd)
+        : CharacterClass.containsLineTerminator(source, start, unprocessedEnd);
+    if (lineTerminator) {
+      // '.' in the leading (.*?) never matched line terminators
+      return LabeledVariablesNamingResult.EMPTY;
+    }
+    String unprocessed = source.substring(start, unprocessedEnd);
+
+    String countries    = labeledValue(source, valueStarts[0], end);
+    String devPhase     = labeledValue(source, valueStarts[1], end);
+    String hardware     = labeledValue(source, valueStarts[2], end);
+    String partners     = labeledValue(source, valueStarts[3], end);
+    String revision     = labeledValue(source, valueStarts[4], end);
+    String usedBy       = labeledValue(source, valueStarts[5], end);
+    String redBlackSwap = labeledValue(source, valueStarts[6], end);
+    String zone         = labeledValue(source, valueStarts[7], end);
 
     return new LabeledVariablesNamingResult(new LabeledVariables(countries, devPhase, hardware, partners, revision, usedBy, redBlackSwap, zone), unprocessed);
   }
 
+  private static boolean isLabeledVariable(String nameComponent, int start, int end) {
+    if (end - start < 3
+        || LABELS.indexOf(nameComponent.charAt(start)) < 0
+        || nameComponent.charAt(start + 1) != SEPARATOR) {
+      return false;
+    }
+    for (int i = start + 2; i < end; i++) {
+      if (!CharacterClass.LABELED_VAR_VALUES.contains(nameComponent.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String labeledValue(String source, int valueStart, int end) {
+    if (valueStart == 0) {
+      return null;
+    }
+    int valueEnd = source.indexOf('-', valueStart);
+    return source.substring(valueStart, valueEnd < 0 || valueEnd > end ? end : valueEnd);
+  }
+
   //VisibleForTesting
   static String extractLabeledVariable(String labeledVariablesString, Pattern labelPattern) {
     if (labeledVariablesString != null && !labeledVariablesString.isEmpty()) {
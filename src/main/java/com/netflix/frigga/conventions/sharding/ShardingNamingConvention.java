@@ -15,12 +15,11 @@
  */
 package com.netflix.frigga.conventions.sharding;
 
-import com.netflix.frigga.NameConstants;
-import com.netflix.frigga.extensions.NamingConvention;
+import com.netflix.frigga.CharacterClass;
+import com.netflix.frigga.extensions.NameTokens;
+import com.netflix.frigga.extensions.TokenizedNamingConvention;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * A NamingConvention that extracts Shards out of the freeFormDetails component of a name.
@@ -60,38 +59,91 @@ import java.util.regex.Pattern;
  * the NamingResult will contain a warning indicating that there was a collision.
  *
  * If a shard appears to be present in the unprocessed portion of the freeFormDetails, this is noted as a warning.
+ *
+ * Shards and the warning are found in a single left to right pass over the freeFormDetails.
  */
-public class ShardingNamingConvention implements NamingConvention<ShardingNamingResult> {
-  private static final String SHARD_CONTENTS_REGEX = "x([1-9][0-9]*)([a-zA-Z][a-zA-Z0-9]*)(.*?)$";
-  private static final String VALID_SHARDS_REGEX = "(?:^|-)" + SHARD_CONTENTS_REGEX;
-  private static final String SHARD_WARNING_REGEX = ".*?-" + SHARD_CONTENTS_REGEX;
-  private static final Pattern SHARD_PATTERN = Pattern.compile(VALID_SHARDS_REGEX);
-  private static final Pattern SHARD_WARNING_PATTERN = Pattern.compile(SHARD_WARNING_REGEX);
+public class ShardingNamingConvention implements TokenizedNamingConvention<ShardingNamingResult> {
 
   @Override
   public ShardingNamingResult extractNamingConvention(String freeFormDetails) {
-    Map<Integer, Shard> result = new HashMap<>();
-    String remaining = freeFormDetails;
-    Matcher matcher = SHARD_PATTERN.matcher(freeFormDetails);
+    return extract(freeFormDetails, 0, freeFormDetails.length(), !CharacterClass.containsLineTerminator(freeFormDetails, 0, freeFormDetails.length()));
+  }
+
+  /**
+   * Same as {@link #extractNamingConvention(String)}, reusing the line terminators found while tokenizing.
+   */
+  @Override
+  public ShardingNamingResult extractNamingConvention(NameTokens tokens) {
+    return extract(tokens.getSource(), tokens.getStart(), tokens.getEnd(), !tokens.containsLineTerminator());
+  }
+
+  private ShardingNamingResult extract(String source, int start, int end, boolean matchable) {
+    Shards shards = new Shards();
     Collection<String> warnings = new ArrayList<>();
-    while (matcher.matches() && !remaining.isEmpty()) {
-      Integer shardId = Integer.parseInt(matcher.group(1));
-      String shardValue = matcher.group(2);
-      Shard shard = new Shard(shardId, shardValue);
-      Shard previous = result.put(shardId, shard);
+    int position = start;
+    // Shards were historically matched with patterns whose wildcards stop at line terminators, which never matched
+    while (matchable) {
+      // Only the first shard may omit the leading hyphen. A later shard can't, since it follows a shard value and
+      // any letter or digit would have been taken into that value.
+      int idStart = position + (position < end && source.charAt(position) == '-' ? 2 : 1);
+      int idEnd = shardIdEnd(source, idStart, end);
+      if (idEnd < 0 || source.charAt(idStart - 1) != 'x') {
+        break;
+      }
+      int valueEnd = shardValueEnd(source, idEnd, end);
+      int shardId = Integer.parseInt(source.substring(idStart, idEnd));
+      String shardValue = source.substring(idEnd, valueEnd);
+      String previous = shards.put(shardId, shardValue);
       if (previous != null) {
-        warnings.add(duplicateShardWarning(previous, shard));
+        warnings.add(duplicateShardWarning(new Shard(shardId, previous), new Shard(shardId, shardValue)));
       }
-      remaining = matcher.group(3);
-      matcher.reset(remaining);
+      position = valueEnd;
     }
-    if (!remaining.isEmpty()) {
-      Matcher warningsMatcher = SHARD_WARNING_PATTERN.matcher(remaining);
-      if (warningsMatcher.matches() && warningsMatcher.groupCount() > 2) {
-        warnings.add(shardInRemainingWarning(remaining, warningsMatcher.group(1), warningsMatcher.group(2)));
+    String remaining = position == 0 && end == source.length() ? source : source.substring(position, end);
+    if (matchable && position < end) {
+      for (int hyphen = source.indexOf("-x", position); hyphen >= 0 && hyphen + 2 <= end;
+          hyphen = source.indexOf("-x", hyphen + 2)) {
+        int idStart = hyphen + 2;
+        int idEnd = shardIdEnd(source, idStart, end);
+        if (idEnd >= 0) {
+          warnings.add(shardInRemainingWarning(remaining, source.substring(idStart, idEnd),
+              source.substring(idEnd, shardValueEnd(source, idEnd, end))));
+          break;
+        }
       }
     }
-    return new ShardingNamingResult(result, remaining, warnings, Collections.emptyList());
+    return new ShardingNamingResult(shards, remaining, warnings, Collections.emptyList());
+  }
+
+  /**
+   * @return the end of the shard-id starting at idStart, if it is followed by the first character of a shard-value
+   * before end, or -1
+   */
+  private static int shardIdEnd(String source, int idStart, int end) {
+    if (idStart >= end || source.charAt(idStart) < '1' || source.charAt(idStart) > '9') {
+      return -1;
+    }
+    int idEnd = idStart + 1;
+    while (idEnd < end && isDigit(source.charAt(idEnd))) {
+      idEnd++;
+    }
+    return idEnd < end && isAlpha(source.charAt(idEnd)) ? idEnd : -1;
+  }
+
+  private static int shardValueEnd(String source, int valueStart, int end) {
+    int valueEnd = valueStart + 1;
+    while (valueEnd < end && (isAlpha(source.charAt(valueEnd)) || isDigit(source.charAt(valueEnd)))) {
+      valueEnd++;
+    }
+    return valueEnd;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isAlpha(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
   }
 
   //visible for testing
@@ -19,13 +19,18 @@ import com.netflix.frigga.extensions.NamingResult;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * A NamingResult for ShardingNamingConvention.
  *
- * Result is a Map of {@code shardId -> Shard}, or {@code Optional.empty} if no shards were present.
+ * Result is a Map of {@code shardId -> Shard}, or {@code Optional.empty} if no shards were present. The shards are
+ * held in a compact {@link Shards}, which can also be read by int shardId with {@link #getShards()}. Unless the result
+ * was created from a Map, the Map is built from the shards on the first call to {@link #getResult()}, and every call
+ * returns that same Map.
  *
  * unprocessed is the remaining portion of the freeFormDetails after no more shards were present.
  *
@@ -34,13 +39,28 @@ import java.util.Optional;
  */
 public class ShardingNamingResult implements NamingResult<Map<Integer, Shard>> {
 
-  private final Map<Integer, Shard> result;
+  private static final Shards NO_SHARDS = new Shards();
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<ShardingNamingResult, Map> RESULT_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(ShardingNamingResult.class, Map.class, "result");
+
+  private final Shards shards;
+  private volatile Map<Integer, Shard> result;
   private final String unprocessed;
   private final Collection<String> warnings;
   private final Collection<String> errors;
 
+  /**
+   * The map is kept as given and returned by {@link #getResult()}. {@link #getShards()} holds the value of each Shard
+   * under its key, leaving out null keys and null Shards.
+   */
   public ShardingNamingResult(Map<Integer, Shard> result, String unprocessed, Collection<String> warnings, Collection<String> errors) {
+    this(result == null ? null : Shards.of(result), unprocessed, warnings, errors);
     this.result = result != null && result.isEmpty() ? null : result;
+  }
+
+  public ShardingNamingResult(Shards shards, String unprocessed, Collection<String> warnings, Collection<String> errors) {
+    this.shards = shards == null || shards.isEmpty() ? NO_SHARDS : shards;
     this.unprocessed = unprocessed == null ? "" : unprocessed;
     this.warnings = warnings == null || warnings.isEmpty() ? Collections.emptyList() : Collections.unmodifiableCollection(warnings);
     this.errors = errors == null || errors.isEmpty() ? Collections.emptyList() : Collections.unmodifiableCollection(errors);
@@ -48,7 +68,23 @@ public class ShardingNamingResult implements NamingResult<Map<Integer, Shard>> {
 
   @Override
   public Optional<Map<Integer, Shard>> getResult() {
-    return Optional.ofNullable(result);
+    Map<Integer, Shard> map = result;
+    if (map == null && !shards.isEmpty()) {
+      Map<Integer, Shard> built = new LinkedHashMap<>(shards.asMap());
+      if (RESULT_UPDATER.compareAndSet(this, null, built)) {
+        map = built;
+      } else {
+        map = result;
+      }
+    }
+    return Optional.ofNullable(map);
+  }
+
+  /**
+   * @return the shards, which are empty if no shards were present
+   */
+  public Shards getShards() {
+    return shards;
   }
 
   @Override
@@ -0,0 +1,229 @@
+/**
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.conventions.sharding;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The shards of a name, held as a pair of arrays sorted by shardId rather than as a map of boxed ids to Shard
+ * objects. Names carry few shards, so lookups by id are a binary search over an int[].
+ *
+ * {@link #asMap()} presents the shards as a read-only {@code Map<Integer, Shard>}, creating Shard objects as they are
+ * read. Shards are filled in while a name is parsed and are not modified afterwards.
+ */
+public final class Shards {
+  private static final int[] NO_IDS = new int[0];
+  private static final String[] NO_VALUES = new String[0];
+
+  private int[] shardIds = NO_IDS;
+  private String[] shardValues = NO_VALUES;
+  private int size;
+  private Map<Integer, Shard> map;
+
+  Shards() {
+  }
+
+  /**
+   * @return shards with the value of each Shard in the map under its key, leaving out null keys and null Shards
+   */
+  static Shards of(Map<Integer, Shard> shards) {
+    Shards result = new Shards();
+    if (shards != null) {
+      for (Map.Entry<Integer, Shard> entry : shards.entrySet()) {
+        if (entry.getKey() != null && entry.getValue() != null) {
+          result.put(entry.getKey(), entry.getValue().getShardValue());
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Sets the value of a shard, replacing any value it already had.
+   *
+   * @return the previous value of the shard, or null
+   */
+  String put(int shardId, String shardValue) {
+    int index = indexOf(shardId);
+    if (index >= 0) {
+      String previous = shardValues[index];
+      shardValues[index] = shardValue;
+      return previous;
+    }
+    int insertion = -index - 1;
+    if (size == shardIds.length) {
+      int capacity = Math.max(4, size * 2);
+      shardIds = Arrays.copyOf(shardIds, capacity);
+      shardValues = Arrays.copyOf(shardValues, capacity);
+    }
+    System.arraycopy(shardIds, insertion, shardIds, insertion + 1, size - insertion);
+    System.arraycopy(shardValues, insertion, shardValues, insertion + 1, size - insertion);
+    shardIds[insertion] = shardId;
+    shardValues[insertion] = shardValue;
+    size++;
+    return null;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean contains(int shardId) {
+    return indexOf(shardId) >= 0;
+  }
+
+  /**
+   * @return the value of the shard, or null if there is no shard with that id
+   */
+  public String getValue(int shardId) {
+    int index = indexOf(shardId);
+    return index >= 0 ? shardValues[index] : null;
+  }
+
+  /**
+   * @return the shard, or null if there is no shard with that id
+   */
+  public Shard get(int shardId) {
+    int index = indexOf(shardId);
+    return index >= 0 ? new Shard(shardId, shardValues[index]) : null;
+  }
+
+  /**
+   * @param index position of the shard, from 0 to size() - 1, in ascending order of shardId
+   * @return the id of the shard at that position
+   */
+  public int getShardIdAt(int index) {
+    checkIndex(index);
+    return shardIds[index];
+  }
+
+  /**
+   * @param index position of the shard, from 0 to size() - 1, in ascending order of shardId
+   * @return the value of the shard at that position
+   */
+  public String getShardValueAt(int index) {
+    checkIndex(index);
+    return shardValues[index];
+  }
+
+  /**
+   * @return read-only view of the shards by shardId, iterated in ascending order of shardId
+   */
+  public Map<Integer, Shard> asMap() {
+    if (map == null) {
+      map = new ShardMap();
+    }
+    return map;
+  }
+
+  private int indexOf(int shardId) {
+    return Arrays.binarySearch(shardIds, 0, size, shardId);
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index " + index + " is outside of " + size + " shards");
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    Shards other = (Shards) o;
+    if (size != other.size) return false;
+    for (int i = 0; i < size; i++) {
+      if (shardIds[i] != other.shardIds[i] || !shardValues[i].equals(other.shardValues[i])) return false;
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    return asMap().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("Shards{");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(shardIds[i]).append('=').append(shardValues[i]);
+    }
+    return builder.append('}').toString();
+  }
+
+  private final class ShardMap extends AbstractMap<Integer, Shard> {
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return key instanceof Integer && contains((Integer) key);
+    }
+
+    @Override
+    public Shard get(Object key) {
+      return key instanceof Integer ? Shards.this.get((Integer) key) : null;
+    }
+
+    @Override
+    public Set<Entry<Integer, Shard>> entrySet() {
+      return new AbstractSet<Entry<Integer, Shard>>() {
+        @Override
+        public int size() {
+          return size;
+        }
+
+        @Override
+        public Iterator<Entry<Integer, Shard>> iterator() {
+          return new Iterator<Entry<Integer, Shard>>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+              return next < size;
+            }
+
+            @Override
+            public Entry<Integer, Shard> next() {
+              if (next >= size) {
+                throw new NoSuchElementException();
+              }
+              int shardId = shardIds[next];
+              String shardValue = shardValues[next++];
+              return new SimpleImmutableEntry<Integer, Shard>(shardId, new Shard(shardId, shardValue));
+            }
+          };
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.extensions;
+
+import com.netflix.frigga.BoundedCache;
+
+import java.util.function.Function;
+
+/**
+ * A NamingConvention that remembers the results of another NamingConvention, which must be a pure function of the
+ * name component. Construct using {@link NamingConventions#memoize(NamingConvention, int)}.
+ *
+ * Results are returned exactly as the wrapped convention produced them, never copied, so shared immutable results
+ * such as {@code LabeledVariablesNamingResult.EMPTY} stay shared and each name component without convention data
+ * costs the cache no more than its entry.
+ *
+ * Thread-safe. At most maxEntries results are remembered, forgetting the least recently used first, and the wrapped
+ * convention is applied outside of any lock.
+ *
+ * @param <R> the NamingResult type
+ */
+public final class MemoizingNamingConvention<R extends NamingResult<?>> implements NamingConvention<R> {
+  private final NamingConvention<R> delegate;
+  private final Function<String, R> loader;
+  private final BoundedCache<String, R> cache;
+
+  MemoizingNamingConvention(NamingConvention<R> delegate, int maxEntries) {
+    if (delegate == null) {
+      throw new NullPointerException("ERROR: Trying to memoize a null convention");
+    }
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be greater than 0");
+    }
+    this.delegate = delegate;
+    loader = delegate::extractNamingConvention;
+    cache = new BoundedCache<>(maxEntries, true);
+  }
+
+  /**
+   * Returns the remembered result for the name component, applying the wrapped convention only if there is none.
+   */
+  @Override
+  public R extractNamingConvention(String nameComponent) {
+    if (nameComponent == null) {
+      return delegate.extractNamingConvention(null);
+    }
+    return cache.get(nameComponent, loader);
+  }
+
+  public NamingConvention<R> getDelegate() {
+    return delegate;
+  }
+
+  public int getMaxEntries() {
+    return cache.getMaximumSize();
+  }
+
+  /**
+   * @return the number of results currently remembered
+   */
+  public int size() {
+    return cache.size();
+  }
+
+  /**
+   * Forgets every result. Statistics are left untouched.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * @return the number of calls answered with a remembered result
+   */
+  public long getHitCount() {
+    return cache.getHitCount();
+  }
+
+  /**
+   * @return the number of calls that had to apply the wrapped convention
+   */
+  public long getMissCount() {
+    return cache.getMissCount();
+  }
+
+  /**
+   * @return the number of results forgotten to stay within maxEntries
+   */
+  public long getEvictionCount() {
+    return cache.getEvictionCount();
+  }
+
+  @Override
+  public String toString() {
+    return "MemoizingNamingConvention{" +
+        "delegate=" + delegate +
+        ", maxEntries=" + getMaxEntries() +
+        ", size=" + size() +
+        ", hits=" + getHitCount() +
+        ", misses=" + getMissCount() +
+        ", evictions=" + getEvictionCount() +
+        '}';
+  }
+}
@@ -0,0 +1,208 @@
+/**
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.extensions;
+
+import com.netflix.frigga.CharacterClass;
+
+import java.util.Arrays;
+
+/**
+ * The hyphen delimited tokens of a name component, found in a single pass and shared by every NamingConvention in a
+ * {@link NamingConventionPipeline}.
+ *
+ * NameTokens may be a window onto part of a name component, such as the portion left unprocessed by a previous
+ * convention. Windows share the positions found when the whole component was tokenized, and all offsets are offsets
+ * into {@link #getSource()}. The first and last token of a window are cut at the window's edges.
+ *
+ * NameTokens are immutable.
+ */
+public final class NameTokens {
+  private static final int[] NONE = new int[0];
+
+  private final String source;
+  private final int start;
+  private final int end;
+  /** Offsets of every '-' in source, ascending. */
+  private final int[] hyphens;
+  /** Offsets of every line terminator in source, ascending. */
+  private final int[] lineTerminators;
+  /** The range of hyphens that fall inside this window. */
+  private final int firstHyphen;
+  private final int hyphenCount;
+
+  private NameTokens(String source, int start, int end, int[] hyphens, int[] lineTerminators) {
+    this.source = source;
+    this.start = start;
+    this.end = end;
+    this.hyphens = hyphens;
+    this.lineTerminators = lineTerminators;
+    this.firstHyphen = lowerBound(hyphens, start);
+    this.hyphenCount = lowerBound(hyphens, end) - firstHyphen;
+  }
+
+  /**
+   * Tokenizes a name component.
+   *
+   * @param nameComponent the name component to tokenize
+   * @return the tokens of the whole name component
+   */
+  public static NameTokens of(String nameComponent) {
+    int length = nameComponent.length();
+    int[] hyphens = NONE;
+    int hyphenCount = 0;
+    int[] lineTerminators = NONE;
+    int lineTerminatorCount = 0;
+    for (int i = 0; i < length; i++) {
+      char c = nameComponent.charAt(i);
+      if (c == '-') {
+        if (hyphenCount == hyphens.length) {
+          hyphens = Arrays.copyOf(hyphens, Math.max(8, hyphenCount * 2));
+        }
+        hyphens[hyphenCount++] = i;
+      } else if (CharacterClass.isLineTerminator(c)) {
+        if (lineTerminatorCount == lineTerminators.length) {
+          lineTerminators = Arrays.copyOf(lineTerminators, Math.max(2, lineTerminatorCount * 2));
+        }
+        lineTerminators[lineTerminatorCount++] = i;
+      }
+    }
+    return new NameTokens(nameComponent, 0, length, trim(hyphens, hyphenCount),
+        trim(lineTerminators, lineTerminatorCount));
+  }
+
+  /**
+   * @param start offset into the source where the window begins
+   * @param end offset into the source where the window ends
+   * @return a window onto part of this window, sharing its tokenization
+   */
+  public NameTokens window(int start, int end) {
+    if (start < this.start || end > this.end || start > end) {
+      throw new IndexOutOfBoundsException(
+          String.format("window %d to %d is outside of %d to %d", start, end, this.start, this.end));
+    }
+    if (start == this.start && end == this.end) {
+      return this;
+    }
+    return new NameTokens(source, start, end, hyphens, lineTerminators);
+  }
+
+  /**
+   * @return the whole name component this window is part of
+   */
+  public String getSource() {
+    return source;
+  }
+
+  public int getStart() {
+    return start;
+  }
+
+  public int getEnd() {
+    return end;
+  }
+
+  public int length() {
+    return end - start;
+  }
+
+  public boolean isEmpty() {
+    return start == end;
+  }
+
+  /**
+   * @return the number of tokens in this window, which is 0 for an empty window
+   */
+  public int getTokenCount() {
+    return isEmpty() ? 0 : hyphenCount + 1;
+  }
+
+  /**
+   * @param index the token, from 0 to getTokenCount() - 1
+   * @return offset into the source of the first character of the token
+   */
+  public int getTokenStart(int index) {
+    checkToken(index);
+    return index == 0 ? start : hyphens[firstHyphen + index - 1] + 1;
+  }
+
+  /**
+   * @param index the token, from 0 to getTokenCount() - 1
+   * @return offset into the source just past the last character of the token
+   */
+  public int getTokenEnd(int index) {
+    checkToken(index);
+    return index == hyphenCount ? end : hyphens[firstHyphen + index];
+  }
+
+  public String getToken(int index) {
+    return source.substring(getTokenStart(index), getTokenEnd(index));
+  }
+
+  /**
+   * @return true if there is a line terminator anywhere in this window
+   */
+  public boolean containsLineTerminator() {
+    return containsLineTerminator(start, end);
+  }
+
+  /**
+   * @param from offset into the source, inclusive
+   * @param to offset into the source, exclusive
+   * @return true if there is a line terminator between the offsets
+   */
+  public boolean containsLineTerminator(int from, int to) {
+    if (lineTerminators.length == 0 || from >= to) {
+      return false;
+    }
+    int index = lowerBound(lineTerminators, from);
+    return index < lineTerminators.length && lineTerminators[index] < to;
+  }
+
+  /**
+   * @return the characters of this window
+   */
+  @Override
+  public String toString() {
+    return start == 0 && end == source.length() ? source : source.substring(start, end);
+  }
+
+  private void checkToken(int index) {
+    if (index < 0 || index >= getTokenCount()) {
+      throw new IndexOutOfBoundsException("token " + index + " is outside of " + getTokenCount() + " tokens");
+    }
+  }
+
+  /**
+   * @return the index of the first value that is not less than key
+   */
+  private static int lowerBound(int[] values, int key) {
+    int low = 0;
+    int high = values.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (values[mid] < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static int[] trim(int[] values, int count) {
+    return count == values.length ? values : Arrays.copyOf(values, count);
+  }
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.extensions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A NamingConvention that applies several NamingConventions to a name component, tokenizing it only once.
+ *
+ * Conventions run in the order they were registered, and each sees the portion of the name component left unprocessed
+ * by the conventions before it, just as when chaining them by hand through {@link NamingResult#getUnprocessed()}.
+ * A {@link TokenizedNamingConvention} is handed a window onto the shared {@link NameTokens}; the unprocessed portion
+ * it returns is located in the window with a comparison rather than tokenized again. Other conventions are handed the
+ * unprocessed portion as a String.
+ *
+ * Pipelines are immutable, and are thread-safe if the conventions they run are.
+ */
+public final class NamingConventionPipeline implements TokenizedNamingConvention<NamingConventionPipeline.Result> {
+
+  private final List<NamingConvention<?>> conventions;
+
+  public NamingConventionPipeline(List<? extends NamingConvention<?>> conventions) {
+    for (NamingConvention<?> convention : conventions) {
+      if (convention == null) {
+        throw new IllegalArgumentException("conventions must not contain null");
+      }
+    }
+    this.conventions = Collections.unmodifiableList(new ArrayList<NamingConvention<?>>(conventions));
+  }
+
+  public static NamingConventionPipeline of(NamingConvention<?>... conventions) {
+    return new NamingConventionPipeline(Arrays.asList(conventions));
+  }
+
+  public List<NamingConvention<?>> getConventions() {
+    return conventions;
+  }
+
+  @Override
+  public Result extractNamingConvention(String nameComponent) {
+    return extractNamingConvention(NameTokens.of(nameComponent == null ? "" : nameComponent));
+  }
+
+  @Override
+  public Result extractNamingConvention(NameTokens tokens) {
+    List<NamingResult<?>> results = new ArrayList<NamingResult<?>>(conventions.size());
+    NameTokens remaining = tokens;
+    for (NamingConvention<?> convention : conventions) {
+      NamingResult<?> result = convention instanceof TokenizedNamingConvention
+          ? ((TokenizedNamingConvention<?>) convention).extractNamingConvention(remaining)
+          : convention.extractNamingConvention(remaining.toString());
+      results.add(result);
+      remaining = unprocessed(remaining, result.getUnprocessed());
+    }
+    return new Result(conventions, results, remaining.toString());
+  }
+
+  /**
+   * @return the window onto the unprocessed portion, which is either a leading or trailing part of the tokens
+   */
+  private static NameTokens unprocessed(NameTokens tokens, String unprocessed) {
+    // No result at all, such as LabeledVariablesNamingResult.EMPTY, leaves everything unprocessed
+    if (unprocessed == null || unprocessed == tokens.getSource()) {
+      return tokens;
+    }
+    String source = tokens.getSource();
+    int length = unprocessed.length();
+    if (length <= tokens.length()) {
+      if (source.startsWith(unprocessed, tokens.getStart())) {
+        return tokens.window(tokens.getStart(), tokens.getStart() + length);
+      }
+      if (source.startsWith(unprocessed, tokens.getEnd() - length)) {
+        return tokens.window(tokens.getEnd() - length, tokens.getEnd());
+      }
+    }
+    // The convention rewrote what it left unprocessed, so the shared tokens no longer apply
+    return NameTokens.of(unprocessed);
+  }
+
+  /**
+   * The combined result of every convention in a pipeline.
+   *
+   * The result is the list of the NamingResults of each convention, in the order the conventions were registered, or
+   * {@code Optional.empty} if no convention extracted a result. Warnings and errors are those of every convention.
+   */
+  public static final class Result implements NamingResult<List<NamingResult<?>>> {
+    private final List<NamingConvention<?>> conventions;
+    private final List<NamingResult<?>> results;
+    private final String unprocessed;
+    private final Collection<String> warnings;
+    private final Collection<String> errors;
+
+    private Result(List<NamingConvention<?>> conventions, List<NamingResult<?>> results, String unprocessed) {
+      this.conventions = conventions;
+      this.results = Collections.unmodifiableList(results);
+      this.unprocessed = unprocessed;
+      List<String> warnings = null;
+      List<String> errors = null;
+      for (NamingResult<?> result : results) {
+        if (!result.getWarnings().isEmpty()) {
+          warnings = warnings == null ? new ArrayList<String>() : warnings;
+          warnings.addAll(result.getWarnings());
+        }
+        if (!result.getErrors().isEmpty()) {
+          errors = errors == null ? new ArrayList<String>() : errors;
+          errors.addAll(result.getErrors());
+        }
+      }
+      this.warnings = warnings == null ? Collections.<String>emptyList() : Collections.unmodifiableList(warnings);
+      this.errors = errors == null ? Collections.<String>emptyList() : Collections.unmodifiableList(errors);
+    }
+
+    @Override
+    public Optional<List<NamingResult<?>>> getResult() {
+      for (NamingResult<?> result : results) {
+        if (result.getResult().isPresent()) {
+          return Optional.of(results);
+        }
+      }
+      return Optional.empty();
+    }
+
+    /**
+     * @return the NamingResult of each convention, in the order the conventions were registered
+     */
+    public List<NamingResult<?>> getResults() {
+      return results;
+    }
+
+    /**
+     * @param convention one of the conventions of the pipeline
+     * @return the NamingResult of that convention
+     * @throws IllegalArgumentException if the convention is not part of the pipeline
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends NamingResult<?>> R get(NamingConvention<R> convention) {
+      for (int i = 0; i < conventions.size(); i++) {
+        if (conventions.get(i) == convention) {
+          return (R) results.get(i);
+        }
+      }
+      throw new IllegalArgumentException("convention is not part of the pipeline");
+    }
+
+    /**
+     * @return the portion of the name component left unprocessed by the last convention
+     */
+    @Override
+    public String getUnprocessed() {
+      return unprocessed;
+    }
+
+    @Override
+    public Collection<String> getWarnings() {
+      return warnings;
+    }
+
+    @Override
+    public Collection<String> getErrors() {
+      return errors;
+    }
+  }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.extensions;
+
+/**
+ * Static helpers for working with NamingConventions.
+ */
+public final class NamingConventions {
+
+  private NamingConventions() {
+  }
+
+  /**
+   * Wraps a convention so that it is applied at most once per distinct name component, as long as the result stays
+   * among the maxEntries most recently used. The convention must be a pure function of the name component.
+   *
+   * @param convention the convention to wrap
+   * @param maxEntries maximum number of results to remember
+   * @param <R> the NamingResult type
+   * @return thread-safe, memoizing convention with hit, miss and eviction counts
+   */
+  public static <R extends NamingResult<?>> MemoizingNamingConvention<R> memoize(NamingConvention<R> convention,
+      int maxEntries) {
+    return new MemoizingNamingConvention<R>(convention, maxEntries);
+  }
+}
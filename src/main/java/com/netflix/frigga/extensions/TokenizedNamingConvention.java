@@ -0,0 +1,33 @@
+/**
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.extensions;
+
+/**
+ * A NamingConvention that can work from a name component that has already been tokenized, so that a
+ * {@link NamingConventionPipeline} can run many conventions over a single tokenization pass.
+ *
+ * @param <R> the NamingResult type
+ */
+public interface TokenizedNamingConvention<R extends NamingResult<?>> extends NamingConvention<R> {
+
+  /**
+   * Same as {@link #extractNamingConvention(String)} applied to {@code tokens.toString()}.
+   *
+   * @param tokens the tokens of the name component to examine
+   * @return The NamingResult, never null
+   */
+  R extractNamingConvention(NameTokens tokens);
+}
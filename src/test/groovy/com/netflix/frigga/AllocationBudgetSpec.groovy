@@ -0,0 +1,63 @@
+/**
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga
+
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Guards the hot parse paths against allocating more than they used to. Budgets are bytes per call, measured on a
+ * 64-bit HotSpot JVM with compressed oops, with some headroom for differences between JVM versions. Paths that should
+ * not allocate at all, such as validating a name or finding no labeled variables, have a budget of zero.
+ *
+ * When a change makes a path allocate less, lower its budget so that the gain is kept.
+ */
+class AllocationBudgetSpec extends Specification {
+
+    @Unroll
+    @Requires({ AllocationMeter.supported })
+    def 'should allocate at most #budget bytes per call of #operation(#input)'() {
+        expect:
+        AllocationMeter.bytesPerCall(HotPaths."$operation"(input)) <= budget
+
+        where:
+        operation             | input                            || budget
+        'parseName'           | 'cass'                           || 128
+        'parseName'           | 'cass-prod'                      || 256
+        'parseName'           | 'cass-prod-useast'               || 320
+        'parseName'           | 'cass-v102'                      || 256
+        'parseName'           | 'cass-prod-useast-v102'          || 448
+        'parseName'           | 'videometadata-prod-east-v1234'  || 512
+        'parseName'           | 'cass-prod-c0us-d0prod-v102'     || 480
+        'parseName'           | 'nccp-moviecontrol%27'           || 128
+        'parseNameAndZone'    | 'cass-prod-v102'                 || 384
+        'parseNameAndZone'    | 'cass-prod-c0us-z0useast1a-v102' || 896
+        'checkName'           | 'videometadata'                  || 0
+        'checkName'           | 'nccp-moviecontrol%27'           || 0
+        'checkNameWithHyphen' | 'cass-prod'                      || 0
+        'checkNameWithHyphen' | 'nccp%27'                        || 0
+        'buildNextGroupName'  | 'cass-prod'                      || 1856
+        'buildNextGroupName'  | 'cass-prod-v102'                 || 2048
+        'labeledVariables'    | ''                               || 0
+        'labeledVariables'    | 'useast'                         || 0
+        'labeledVariables'    | 'useast-c0us'                    || 288
+        'labeledVariables'    | 'c0us-d0prod-z0useast1a'         || 384
+        'sharding'            | 'useast'                         || 128
+        'sharding'            | 'x1foo'                          || 352
+        'sharding'            | 'x1foo-x2bar-useast'             || 512
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga
+
+import groovy.transform.CompileStatic
+
+import java.lang.management.ManagementFactory
+
+/**
+ * Measures the bytes allocated on the current thread per call of an operation, using the allocated bytes counter of
+ * the HotSpot ThreadMXBean. Operations are warmed up first so that they are measured once compiled, and the fewest
+ * bytes of several rounds is reported, so that a one-off allocation such as a lazily initialized cache does not count.
+ *
+ * Compiled statically, so that the measuring loop itself does not allocate.
+ */
+@CompileStatic
+final class AllocationMeter {
+
+    private static final int WARMUP_CALLS = 50000
+    private static final int MEASURED_CALLS = 10000
+    private static final int ROUNDS = 5
+
+    private static volatile Object sink
+
+    /**
+     * An operation to measure. Implementations should be compiled statically as well.
+     */
+    static abstract class Operation {
+        /**
+         * @return the result of the operation, which is kept reachable until the next call
+         */
+        abstract Object run()
+    }
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * @return true if this JVM can count the bytes allocated by a thread, enabling the counter if needed
+     */
+    static boolean isSupported() {
+        def bean = ManagementFactory.threadMXBean
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return false
+        }
+        def allocationBean = (com.sun.management.ThreadMXBean) bean
+        if (!allocationBean.threadAllocatedMemorySupported) {
+            return false
+        }
+        allocationBean.threadAllocatedMemoryEnabled = true
+        return true
+    }
+
+    /**
+     * @param operation the operation to measure
+     * @return the bytes allocated per call, rounded down
+     */
+    static long bytesPerCall(Operation operation) {
+        def bean = (com.sun.management.ThreadMXBean) ManagementFactory.threadMXBean
+        long threadId = Thread.currentThread().id
+        Object result = null
+        for (int call = 0; call < WARMUP_CALLS; call++) {
+            result = operation.run()
+        }
+        long fewest = Long.MAX_VALUE
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = bean.getThreadAllocatedBytes(threadId)
+            for (int call = 0; call < MEASURED_CALLS; call++) {
+                result = operation.run()
+            }
+            fewest = Math.min(fewest, bean.getThreadAllocatedBytes(threadId) - before)
+        }
+        sink = result
+        return Math.floorDiv(fewest, (long) MEASURED_CALLS)
+    }
+}
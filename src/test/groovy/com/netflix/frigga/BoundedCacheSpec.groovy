@@ -0,0 +1,147 @@
+/**
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga
+
+import spock.lang.Specification
+
+class BoundedCacheSpec extends Specification {
+
+    def 'should load each key once and count hits and misses'() {
+        given:
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, true)
+        int loads = 0
+
+        when:
+        def first = cache.get('a', { loads++; it.length() })
+        def second = cache.get('a', { loads++; -1 })
+
+        then:
+        first == 1
+        second == 1
+        loads == 1
+        cache.hitCount == 1
+        cache.missCount == 1
+        cache.size() == 1
+    }
+
+    def 'should keep the first value stored'() {
+        given:
+        BoundedCache<String, String> cache = new BoundedCache<>(10, true)
+
+        expect:
+        cache.putIfAbsent('a', 'first') == 'first'
+        cache.putIfAbsent('a', 'second') == 'first'
+        cache.get('a', { 'third' }) == 'first'
+        cache.missCount == 0
+    }
+
+    def 'should evict by access or insertion order'() {
+        given:
+        BoundedCache<String, String> cache = new BoundedCache<>(2, accessOrder)
+        cache.putIfAbsent('a', 'a')
+        cache.putIfAbsent('b', 'b')
+
+        when:
+        cache.get('a', { 'reloaded' })
+        cache.putIfAbsent('c', 'c')
+
+        then:
+        cache.get('a', { 'reloaded' }) == expected
+        cache.evictionCount >= 1
+
+        where:
+        accessOrder | expected
+        true        | 'a'
+        false       | 'reloaded'
+    }
+
+    def 'should stay within the maximum size across segments'() {
+        given:
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(1000, true)
+
+        when:
+        (1..5000).each { cache.get(it, { it }) }
+
+        then:
+        cache.size() <= 1000
+        cache.evictionCount == 5000 - cache.size()
+    }
+
+    def 'should spread keys across segments and across the buckets within each segment'() {
+        given:
+        BoundedCache<String, String> cache = new BoundedCache<>(65536, true)
+        List<String> keys = (0..<65536).collect { "app${it}-stack-v${it % 1000}".toString() }
+
+        when:
+        Map<Integer, List<Integer>> hashesBySegment = keys.collect { it.hashCode() }.groupBy { cache.segmentIndex(it) }
+
+        then:
+        hashesBySegment.size() == 16
+        hashesBySegment.values().every { it.size() > 65536 / 16 * 0.9 && it.size() < 65536 / 16 * 1.1 }
+        // Buckets used by the map of one segment, which indexes its table with the low bits of the spread hash
+        hashesBySegment.values().every { hashes ->
+            int buckets = Integer.highestOneBit((int) (hashes.size() / 0.75) * 2 - 1)
+            hashes.collect { (it ^ (it >>> 16)) & (buckets - 1) }.toSet().size() > buckets / 4
+        }
+    }
+
+    def 'should keep hits as cheap in a full cache as in a nearly empty one'() {
+        given:
+        BoundedCache<String, String> cache = new BoundedCache<>(65536, true)
+        List<String> keys = (0..<65536).collect { "app${it}-stack-v${it % 1000}".toString() }
+
+        expect:
+        [1024, 65536].every { int filled ->
+            Map<Integer, List<Integer>> hashesBySegment = keys.take(filled).collect { it.hashCode() }.groupBy {
+                cache.segmentIndex(it)
+            }
+            hashesBySegment.values().every { hashes ->
+                int buckets = Math.max(16, Integer.highestOneBit((int) (hashes.size() / 0.75) * 2 - 1))
+                def chains = hashes.countBy { (it ^ (it >>> 16)) & (buckets - 1) }.values()
+                // Average number of entries compared by a hit, which stays close to one at any fill
+                chains.sum { it * it } / hashes.size() < 2
+            }
+        }
+    }
+
+    def 'should use a single segment for small caches'() {
+        given:
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(100, true)
+
+        expect:
+        [0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 0x9E3779B9].every { cache.segmentIndex(it) == 0 }
+    }
+
+    def 'should reject null values'() {
+        given:
+        BoundedCache<String, String> cache = new BoundedCache<>(10, true)
+
+        when:
+        cache.get('a', { null })
+
+        then:
+        thrown(NullPointerException)
+        cache.size() == 0
+    }
+
+    def 'should reject invalid sizes'() {
+        when:
+        new BoundedCache<String, String>(0, true)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga
+
+import spock.lang.Specification
+
+class CharacterClassSpec extends Specification {
+
+    def 'should treat as line terminators exactly the characters that dot does not match'() {
+        expect:
+        (0..<0x3000).every { int c ->
+            CharacterClass.isLineTerminator((char) c) == !(String.valueOf((char) c) ==~ /./)
+        }
+    }
+
+    def 'should find line terminators only within the range'() {
+        expect:
+        CharacterClass.containsLineTerminator(chars, start, end) == expected
+
+        where:
+        chars        | start | end || expected
+        ''           | 0     | 0   || false
+        'abc'        | 0     | 3   || false
+        'a\nc'       | 0     | 3   || true
+        'a\nc'       | 2     | 3   || false
+        'a\u2028c'   | 1     | 2   || true
+        'ab\r'       | 0     | 2   || false
+    }
+
+    def 'should match labeled variable values exactly as the regular expression constant does'() {
+        expect:
+        (0..<0x3000).every { int c ->
+            CharacterClass.LABELED_VAR_VALUES.contains((char) c) ==
+                    (String.valueOf((char) c) ==~ NameConstants.LABELED_VAR_VALUES)
+        }
+    }
+
+    def 'should reject a character class without brackets'() {
+        when:
+        CharacterClass.parseBracketed('a-z')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
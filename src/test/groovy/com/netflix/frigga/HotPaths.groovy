@@ -0,0 +1,108 @@
+/**
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga
+
+import com.netflix.frigga.autoscaling.AutoScalingGroupNameBuilder
+import com.netflix.frigga.conventions.labeledvariables.LabeledVariablesNamingConvention
+import com.netflix.frigga.conventions.sharding.ShardingNamingConvention
+import groovy.transform.CompileStatic
+
+/**
+ * The hot parse paths measured by {@link AllocationBudgetSpec}, each applied to a single input. Compiled statically,
+ * so that only the allocations of the code under test are counted.
+ */
+@CompileStatic
+final class HotPaths {
+
+    private HotPaths() {
+    }
+
+    static AllocationMeter.Operation parseName(String name) {
+        using(name, new InputOperation() {
+            Object apply(String input) {
+                Names.parseName(input)
+            }
+        })
+    }
+
+    static AllocationMeter.Operation parseNameAndZone(String name) {
+        using(name, new InputOperation() {
+            Object apply(String input) {
+                Names.parseName(input).zone
+            }
+        })
+    }
+
+    static AllocationMeter.Operation checkName(String name) {
+        using(name, new InputOperation() {
+            Object apply(String input) {
+                NameValidation.checkName(input)
+            }
+        })
+    }
+
+    static AllocationMeter.Operation checkNameWithHyphen(String name) {
+        using(name, new InputOperation() {
+            Object apply(String input) {
+                NameValidation.checkNameWithHyphen(input)
+            }
+        })
+    }
+
+    static AllocationMeter.Operation buildNextGroupName(String name) {
+        using(name, new InputOperation() {
+            Object apply(String input) {
+                AutoScalingGroupNameBuilder.buildNextGroupName(input)
+            }
+        })
+    }
+
+    static AllocationMeter.Operation labeledVariables(String nameComponent) {
+        // Operations hold their own convention, as fields of the outer class would be read reflectively
+        using(nameComponent, new InputOperation() {
+            private final LabeledVariablesNamingConvention convention = new LabeledVariablesNamingConvention()
+
+            Object apply(String input) {
+                convention.extractNamingConvention(input)
+            }
+        })
+    }
+
+    static AllocationMeter.Operation sharding(String nameComponent) {
+        using(nameComponent, new InputOperation() {
+            private final ShardingNamingConvention convention = new ShardingNamingConvention()
+
+            Object apply(String input) {
+                convention.extractNamingConvention(input)
+            }
+        })
+    }
+
+    private static AllocationMeter.Operation using(String input, InputOperation operation) {
+        operation.input = input
+        operation
+    }
+
+    private static abstract class InputOperation extends AllocationMeter.Operation {
+        String input
+
+        Object run() {
+            apply(input)
+        }
+
+        abstract Object apply(String input)
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga
+
+import com.netflix.frigga.autoscaling.AutoScalingGroupNameBuilder
+import com.netflix.frigga.elb.LoadBalancerNameBuilder
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class NameTemplateSpec extends Specification {
+
+    @Unroll
+    def 'should build the same group name as AutoScalingGroupNameBuilder for #stack #detail #zone'() {
+        given:
+        NameTemplate template = NameTemplate.builder()
+                .withAppName('app')
+                .withStack(stack)
+                .withCountries(countries)
+                .withDevPhase('prod')
+                .build()
+        AutoScalingGroupNameBuilder builder = new AutoScalingGroupNameBuilder()
+                .withAppName('app')
+                .withStack(stack)
+                .withDetail(detail)
+                .withCountries(countries)
+                .withDevPhase('prod')
+                .withZoneVar(zone)
+
+        expect:
+        template.buildGroupName(detail, zone) == builder.buildGroupName(true)
+
+        where:
+        stack  | detail      | countries | zone
+        null   | null        | null      | null
+        'main' | null        | 'us'      | null
+        ''     | 'multi-part'| null      | 'useast1a'
+        'main' | 'd'         | 'us'      | 'useast1a'
+    }
+
+    def 'should build names with a push'() {
+        given:
+        NameTemplate template = NameTemplate.builder().withAppName('app').withStack('main').withHardware('m3').build()
+
+        expect:
+        template.buildGroupName('canary', null, 0) == 'app-main-canary-h0m3-v000'
+        template.buildGroupName(null, 'useast1c', 42) == 'app-main-h0m3-z0useast1c-v042'
+        template.buildGroupName(null, null, 1234) == 'app-main-h0m3-v1234'
+        Names.parseName(template.buildGroupName('canary', null, 7)).sequence == 7
+    }
+
+    def 'should append into a reused buffer'() {
+        given:
+        NameTemplate template = NameTemplate.builder().withAppName('app').withStack('main').build()
+        StringBuilder buffer = new StringBuilder('prefix:')
+
+        when:
+        template.appendGroupName(buffer, 'd', null, -1).append(',')
+        template.appendGroupName(buffer, null, 'z1', 5)
+
+        then:
+        buffer.toString() == 'prefix:app-main-d,app-main-z0z1-v005'
+    }
+
+    def 'should build the same load balancer name as LoadBalancerNameBuilder'() {
+        given:
+        NameTemplate template = NameTemplate.builder().withAppName('app').withStack(stack).withCountries('us').build()
+        LoadBalancerNameBuilder builder = new LoadBalancerNameBuilder(appName: 'app', stack: stack, detail: detail)
+
+        expect:
+        template.buildLoadBalancerName(detail) == builder.buildLoadBalancerName()
+
+        where:
+        stack  | detail
+        null   | null
+        'main' | null
+        null   | 'frontend'
+        'main' | 'front-end'
+    }
+
+    def 'should validate the fixed parts once, when built'() {
+        when:
+        NameTemplate.builder().withStack('main').build()
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        NameTemplate.builder().withAppName('app').withDevPhase('te st').build()
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        NameTemplate.builder().withAppName('app').withStack('v123').build()
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.message == 'stack cannot contain a push version'
+    }
+
+    @Unroll
+    def 'should reject varying part #detail #zone #sequence'() {
+        given:
+        NameTemplate template = NameTemplate.builder().withAppName('app').build()
+
+        when:
+        template.buildGroupName(detail, zone, sequence)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        detail       | zone  | sequence
+        'a-v001'     | null  | 1
+        'not valid'  | null  | 1
+        null         | 'a-b' | 1
+        null         | null  | -1
+        null         | null  | 1000000
+    }
+}
@@ -63,4 +63,65 @@ class NameValidationSpec extends Specification {
         NameValidation.checkNameWithHyphen("something-~1.0.0.0")
     }
 
+    def 'should validate reserved format edge cases'() {
+        expect:
+        NameValidation.usesReservedFormat(name) == reserved
+
+        where:
+        name                | reserved
+        null                | false
+        ''                  | false
+        'app-v000'          | true
+        'appv000001'        | true
+        'app-v0000001'      | false
+        'app-v00'           | false
+        'c0'                | false
+        'foo-bar-z0a'       | true
+        'foo-x0a'           | false
+        'fooc0a'            | false
+        'foo\nbar-c0a'      | false
+        'foo\nv123'         | false
+        new StringBuilder('abcache-c0USA') | true
+    }
+
+    def 'should validate character sequences'() {
+        expect:
+        NameValidation.checkName(new StringBuilder('account_batch'))
+        !NameValidation.checkName(new StringBuilder('account#batch'))
+        NameValidation.checkNameWithHyphen(new StringBuilder('something-~1.0.0.0'))
+        !NameValidation.checkNameWithHyphen(new StringBuilder(''))
+    }
+
+    def 'should find push versions in any token'() {
+        expect:
+        NameValidation.containsPushVersion(name) == push
+
+        where:
+        name            | push
+        null            | false
+        ''              | false
+        'v123'          | true
+        'abc-v123-def'  | true
+        'abc-v1234567'  | false
+        'abc-v12b3-def' | false
+        'abcv123'       | false
+    }
+
+    def 'should report invalid names in bulk'() {
+        given:
+        def names = ['abha', 'account#batch', null, '', 'east-1c-0', 'account.batch']
+
+        expect:
+        NameValidation.findInvalidNames(names) == bits(1, 2, 3, 4)
+        NameValidation.findInvalidNames(names as CharSequence[]) == bits(1, 2, 3, 4)
+        NameValidation.findInvalidNamesWithHyphen(names) == bits(1, 2, 3)
+        NameValidation.findInvalidNamesWithHyphen(names as CharSequence[]) == bits(1, 2, 3)
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet bits = new BitSet()
+        indexes.each { bits.set(it) }
+        return bits
+    }
+
 }
@@ -0,0 +1,90 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga
+
+import spock.lang.Specification
+
+class NamesCacheSpec extends Specification {
+
+    def 'should return the same instance for repeated lookups'() {
+        given:
+        NamesCache cache = new NamesCache(10)
+
+        when:
+        Names first = cache.get('api-test-A-v406')
+        Names second = cache.get('api-test-A-v406')
+
+        then:
+        first.is(second)
+        first == Names.parseName('api-test-A-v406')
+    }
+
+    def 'should not cache null names'() {
+        given:
+        NamesCache cache = new NamesCache(10)
+
+        when:
+        Names names = cache.get(null)
+
+        then:
+        null == names.group
+        cache.size() == 0
+        cache.missCount == 0
+    }
+
+    def 'should default to evicting the least recently used names'() {
+        expect:
+        new NamesCache(10).evictionPolicy == NamesCache.EvictionPolicy.LEAST_RECENTLY_USED
+    }
+
+    def 'should keep recently used names only under LRU'() {
+        given:
+        NamesCache cache = new NamesCache(2, policy)
+        Names first = cache.get('app-v001')
+        cache.get('app-v002')
+
+        when:
+        cache.get('app-v001')
+        cache.get('app-v003')
+
+        then:
+        cache.get('app-v001').is(first) == retained
+
+        where:
+        policy                                        | retained
+        NamesCache.EvictionPolicy.LEAST_RECENTLY_USED | true
+        NamesCache.EvictionPolicy.FIRST_IN_FIRST_OUT  | false
+    }
+
+    def 'should reject invalid arguments'() {
+        when:
+        new NamesCache(maximumSize, policy)
+
+        then:
+        thrown(expected)
+
+        where:
+        maximumSize | policy                                        || expected
+        0           | NamesCache.EvictionPolicy.LEAST_RECENTLY_USED || IllegalArgumentException
+        10          | null                                          || NullPointerException
+    }
+
+    def 'should share instances through Names.cached'() {
+        expect:
+        Names.cached('cass-c0northamerica-d0prod-v102').is(Names.cached('cass-c0northamerica-d0prod-v102'))
+        Names.cached('cass-c0northamerica-d0prod-v102').countries == 'northamerica'
+    }
+}
@@ -16,6 +16,10 @@
 package com.netflix.frigga
 
 import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.ForkJoinPool
+import java.util.regex.Pattern
 
 class NamesSpec extends Specification {
 
@@ -33,6 +37,76 @@ class NamesSpec extends Specification {
         889 == names.sequence
     }
 
+    private static final Pattern LEGACY_PUSH_PATTERN = Pattern.compile(
+            "^([" + NameConstants.NAME_HYPHEN_CHARS + "]*)-(" + NameConstants.PUSH_FORMAT + ")\$")
+    private static final Pattern LEGACY_NAME_PATTERN = Pattern.compile(
+            "^([" + NameConstants.NAME_CHARS + "]+)(?:-([" + NameConstants.NAME_CHARS + "]*)(?:-(["
+                    + NameConstants.NAME_HYPHEN_CHARS + "]*?))?)?\$")
+
+    @Unroll
+    def 'should parse #name the same way as the legacy regular expressions'() {
+        given:
+        def pushMatcher = LEGACY_PUSH_PATTERN.matcher(name)
+        boolean hasPush = pushMatcher.matches()
+        def nameMatcher = LEGACY_NAME_PATTERN.matcher(hasPush ? pushMatcher.group(1) : name)
+        boolean matches = !name.trim().isEmpty() && nameMatcher.matches()
+        boolean valid = !name.trim().isEmpty() && (hasPush || LEGACY_NAME_PATTERN.matcher(name).matches())
+
+        when:
+        Names names = Names.parseName(name)
+
+        then:
+        names.group == (matches ? name : null)
+        names.cluster == (matches ? nameMatcher.group(0) : null)
+        names.app == (matches ? nameMatcher.group(1) : null)
+        names.stack == (matches ? nameMatcher.group(2) ?: null : null)
+        names.detail == (matches ? nameMatcher.group(3) ?: null : null)
+        names.push == (matches && hasPush ? pushMatcher.group(2) : null)
+        names.sequence == (matches && hasPush ? pushMatcher.group(3) as Integer : null)
+        isValid(name) == valid
+
+        where:
+        name << ['', ' ', '-', '--', '-v001', 'v001', 'a-v001', 'a--v001', 'a---v0001', 'a-v1234567', 'a-v12',
+                 '-a', 'a-', 'a-b-', 'a-b-c-d-v000001', 'a-~b-v001', 'a-b-~c-v001', 'a%-v001', 'a b', 'a-v-v123',
+                 'a-v12v123', 'a^-b', 'app-stack-de~tail^-more--v999999', 'app.1_x-st.ack-', '\n-v001']
+    }
+
+    private static boolean isValid(String name) {
+        try {
+            Names.parseNameOrThrow(name)
+            return true
+        } catch (IllegalArgumentException ignored) {
+            return false
+        }
+    }
+
+    def 'should parse many names in input order'() {
+        given:
+        List<String> names = (0..<1000).collect { it % 7 == 0 ? "bad%$it" : "app${it % 10}-stack-d$it-v${String.format('%03d', it)}" }
+        names << null
+
+        when:
+        List<Names> parsed = Names.parseAll(names)
+        Names[] split = Names.parseAll(names as String[], new ForkJoinPool(4), 16)
+
+        then:
+        parsed.size() == names.size()
+        split.length == names.size()
+        names.eachWithIndex { String name, int i ->
+            assert parsed[i] == Names.parseName(name)
+            assert split[i].group == Names.parseName(name).group
+            assert split[i].sequence == Names.parseName(name).sequence
+        }
+    }
+
+    def 'should reject invalid parallelism thresholds'() {
+        when:
+        Names.parseAll(['app'], ForkJoinPool.commonPool(), 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
     def 'should throw for invalid name when calling parseNameOrThrow: #description'() {
         when:
         Names.parseNameOrThrow(name)
@@ -98,6 +172,27 @@ class NamesSpec extends Specification {
         'foo-v0000001' || 'foo-v0000001' || 'foo-v0000001' || 'foo' || 'v0000001' || null   || null      || null
     }
 
+    def 'should share the cluster and app with the name where they span it'() {
+        expect:
+        Names.parseName('cass-v102').with { app.is(cluster) }
+        Names.parseName('cass-prod').with { cluster.is(group) }
+        Names.parseName('cass').with { app.is(group) && cluster.is(group) }
+        !Names.parseName('cass-prod-v102').with { app.is(cluster) }
+    }
+
+    def 'should hash the same as the group alone'() {
+        expect:
+        Names.parseName(name).hashCode() == Objects.hash(group)
+        Names.parseName(name) == Names.parseName(name)
+
+        where:
+        name                   || group
+        'cass-prod-c0us-v102'  || 'cass-prod-c0us-v102'
+        'cass'                 || 'cass'
+        'nccp-moviecontrol%27' || null
+        null                   || null
+    }
+
     def 'should dissect group names'() {
         when:
         Names names = Names.parseName(null)
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga
+
+import spock.lang.Specification
+
+class NamesTableSpec extends Specification {
+
+    static final List<String> NAMES = [
+            null,
+            'nccp-moviecontrol%27',
+            'actiondrainer',
+            'actiondrainer--v003',
+            'cass-c0northamerica-d0prod-v102',
+            'cass-nccpintegration-random-junk-c0northamerica-d0prod-h0gamesystems-p0vizio-r027-u0nccp-w0A-z0useast1a-v003',
+            'api-test-A-v406',
+            'api-test-A-v407',
+            'foo-v0001'
+    ]
+
+    def 'should hold the same components as Names'() {
+        given:
+        NamesTable parsed = new NamesTable(1)
+        NamesTable appended = new NamesTable()
+        NAMES.each {
+            parsed.append(it)
+            appended.append(Names.parseName(it))
+        }
+
+        expect:
+        [parsed, appended].each { NamesTable table ->
+            assert table.size() == NAMES.size()
+            NAMES.eachWithIndex { String name, int row ->
+                Names names = Names.parseName(name)
+                assert table.getGroup(row) == names.group
+                assert table.getCluster(row) == names.cluster
+                assert table.getApp(row) == names.app
+                assert table.getStack(row) == names.stack
+                assert table.getDetail(row) == names.detail
+                assert table.getPush(row) == names.push
+                assert table.getSequence(row) == names.sequence
+                assert table.getSequenceAsInt(row) == (names.sequence == null ? -1 : names.sequence)
+                assert table.get(row, NamesTable.Column.COUNTRIES) == names.countries
+                assert table.get(row, NamesTable.Column.DEV_PHASE) == names.devPhase
+                assert table.get(row, NamesTable.Column.ZONE) == names.zone
+                assert table.getNames(row) == names
+            }
+        }
+    }
+
+    def 'should scan columns'() {
+        given:
+        NamesTable table = new NamesTable()
+        NAMES.each { table.append(it) }
+
+        expect:
+        table.findRows(NamesTable.Column.APP, 'api') == [6, 7] as int[]
+        table.findRows(NamesTable.Column.CLUSTER, 'api-test-A') == [6, 7] as int[]
+        table.findRows(NamesTable.Column.COUNTRIES, 'northamerica') == [4, 5] as int[]
+        table.findRows(NamesTable.Column.APP, null) == [0, 1] as int[]
+        table.findRows(NamesTable.Column.APP, 'missing') == [] as int[]
+        table.countRows(NamesTable.Column.STACK, 'test') == 2
+        table.countRows(NamesTable.Column.PUSH, null) == 3
+    }
+
+    def 'should share repeated values'() {
+        given:
+        NamesTable table = new NamesTable()
+
+        when:
+        (1..1000).each { table.append("api-test-A-v${String.format('%03d', it % 10)}") }
+
+        then:
+        table.size() == 1000
+        table.getDistinctValueCount() == 14
+    }
+
+    def 'should reject rows outside of the table'() {
+        when:
+        new NamesTable().getApp(0)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga
+
+import spock.lang.Specification
+
+import java.nio.CharBuffer
+
+class NamesViewSpec extends Specification {
+
+    def 'should match Names for #name'() {
+        when:
+        Names names = Names.parseName(name)
+        NamesView view = NamesView.of(name)
+
+        then:
+        view.parsed == (names.group != null)
+        view.group == names.group
+        view.cluster == names.cluster
+        view.app == names.app
+        view.stack == names.stack
+        view.detail == names.detail
+        view.push == names.push
+        view.sequence == names.sequence
+        view.sequenceAsInt == (names.sequence == null ? -1 : names.sequence)
+        view.toNames() == names
+
+        where:
+        name << [null, '', 'actiondrainer', 'actiondrainer-v003', 'actiondrainer--v003', 'api-test-~A-v004',
+                 'api-^test-A-v004', 'discovery-us-east-1d', 'foo-v0000001', 'nccp-moviecontrol%27']
+    }
+
+    def 'should parse mutable character sequences'() {
+        given:
+        NamesView view = new NamesView()
+        StringBuilder builder = new StringBuilder('api-test-A-v406')
+
+        expect:
+        view.parse(builder)
+        view.appEquals('api')
+        view.stackEquals('test')
+        view.detailEquals('A')
+        view.clusterEquals('api-test-A')
+        view.sequenceAsInt == 406
+
+        when:
+        builder.setLength(0)
+        builder.append('chukwa.collector_1')
+
+        then:
+        view.parse(builder)
+        view.appEquals('chukwa.collector_1')
+        view.stackEquals(null)
+        view.detailEquals(null)
+        !view.hasPush()
+        view.sequenceAsInt == -1
+        view.sequence == null
+    }
+
+    def 'should parse a CharBuffer window'() {
+        given:
+        CharBuffer buffer = CharBuffer.wrap('xxevcache-us-east-1d-0-v223yy'.toCharArray(), 2, 25)
+
+        when:
+        NamesView view = NamesView.of(buffer)
+
+        then:
+        view.group == 'evcache-us-east-1d-0-v223'
+        view.cluster == 'evcache-us-east-1d-0'
+        view.detail == 'east-1d-0'
+        view.sequenceAsInt == 223
+    }
+
+    def 'should compare regions of an unparseable name as null'() {
+        when:
+        NamesView view = NamesView.of('nccp-moviecontrol%27')
+
+        then:
+        !view.parsed
+        view.appEquals(null)
+        view.clusterEquals(null)
+        !view.appEquals('nccp')
+        view.sequenceAsInt == -1
+    }
+}
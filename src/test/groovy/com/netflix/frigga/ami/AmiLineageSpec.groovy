@@ -0,0 +1,118 @@
+/**
+ * Copyright 2016 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.ami
+
+import java.time.LocalDate
+
+import spock.lang.Specification
+
+class AmiLineageSpec extends Specification {
+
+    Map<String, String> catalog = [
+            'ami-0000000a': 'base_ami_id=ami-00000000,base_ami_name=centos-x86_64-20100101',
+            'ami-0000000b': 'base_ami_id=ami-0000000a,base_ami_name=appbase-x86_64-20120101-ebs',
+            'ami-0000000c': 'base_ami_id=ami-0000000a,base_ami_name=appbase-x86_64-20120101-ebs',
+            'ami-0000000d': 'store=ebs,ancestor_name=appbase-x86_64-20150101,ancestor_id=ami-0000000b',
+            'ami-0000000e': 'not from the bakery'
+    ]
+
+    AmiLineage lineage = AmiLineage.build(catalog)
+
+    def 'should link images to their base AMIs'() {
+        expect:
+        lineage.size() == 5
+        lineage.contains('ami-00000000')
+        !lineage.contains('ami-0000000f')
+        lineage.getBaseAmiId('ami-0000000d') == 'ami-0000000b'
+        lineage.getBaseAmiId('ami-0000000e') == null
+        lineage.getBaseAmiId('ami-00000000') == null
+        lineage.getBaseAmiDate('ami-0000000b') == LocalDate.of(2012, 1, 1)
+        lineage.getBaseAmiDate('ami-0000000e') == null
+        lineage.getBaseAmiId(null) == null
+    }
+
+    def 'should find ancestors nearest first'() {
+        expect:
+        lineage.getAncestors('ami-0000000d') == ['ami-0000000b', 'ami-0000000a', 'ami-00000000']
+        lineage.getAncestors('ami-00000000') == []
+        lineage.getAncestors('ami-0000000f') == []
+    }
+
+    def 'should find descendants, including those of base AMIs outside the catalog'() {
+        expect:
+        lineage.getChildren('ami-0000000a') == ['ami-0000000b', 'ami-0000000c']
+        lineage.getDescendants('ami-00000000') == ['ami-0000000a', 'ami-0000000b', 'ami-0000000c', 'ami-0000000d']
+        lineage.getDescendants('ami-0000000b') == ['ami-0000000d']
+        lineage.getDescendants('ami-0000000e') == []
+    }
+
+    def 'should find images with old base AMIs'() {
+        expect:
+        lineage.getImagesWithBaseAmiOlderThan(LocalDate.of(2010, 1, 1)) == []
+        lineage.getImagesWithBaseAmiOlderThan(LocalDate.of(2013, 1, 1)) == ['ami-0000000a', 'ami-0000000b', 'ami-0000000c']
+        lineage.getImagesWithBaseAmiOlderThan(LocalDate.of(2016, 1, 1)).size() == 4
+    }
+
+    def 'should stop at cycles'() {
+        given:
+        AmiLineage cyclic = AmiLineage.build([
+                'ami-00000001': 'base_ami_id=ami-00000002',
+                'ami-00000002': 'base_ami_id=ami-00000001'
+        ])
+
+        expect:
+        cyclic.getAncestors('ami-00000001') == ['ami-00000002']
+        cyclic.getDescendants('ami-00000001') == ['ami-00000002']
+    }
+
+    def 'should reject a null image id'() {
+        when:
+        AmiLineage.build(['ami-00000001': 'base_ami_id=ami-00000002', (null): 'base_ami_id=ami-00000001'])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def 'should keep catalog order when base AMIs are named before their own entries'() {
+        given:
+        AmiLineage ordered = AmiLineage.build([
+                'ami-00000003': 'base_ami_id=ami-00000002,base_ami_name=appbase-x86_64-20120101-ebs',
+                'ami-00000002': 'base_ami_id=ami-00000001,base_ami_name=centos-x86_64-20100101'
+        ])
+
+        expect:
+        ordered.size() == 2
+        ordered.getImagesWithBaseAmiOlderThan(LocalDate.of(2013, 1, 1)) == ['ami-00000003', 'ami-00000002']
+        ordered.getAncestors('ami-00000003') == ['ami-00000002', 'ami-00000001']
+        ordered.getBaseAmiId('ami-00000001') == null
+    }
+
+    def 'should index a large catalog'() {
+        given:
+        Map<String, String> large = [:]
+        (1..20000).each {
+            large[String.format('ami-%08x', it)] = "base_ami_id=${String.format('ami-%08x', it.intdiv(2))}".toString()
+        }
+
+        when:
+        AmiLineage big = AmiLineage.build(large)
+
+        then:
+        big.size() == 20000
+        big.getDescendants('ami-00000000').size() == 20000
+        big.getAncestors(String.format('ami-%08x', 20000)).size() == 15
+    }
+}
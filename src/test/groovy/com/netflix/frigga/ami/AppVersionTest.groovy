@@ -138,6 +138,106 @@ class AppVersionTest extends Specification {
         'my-app-0.0.1~snapshot.202009092025-h108.2258259/MY-J-JOB/108'| 'my-app'    | '0.0.1~snapshot.202009092025'| '2258259'  | '108'       | 'MY-J-JOB'
     }
 
+    @Unroll
+    def 'scanner should parse #appversionString the same as the pattern'() {
+        when:
+        AppVersion scanned = AppVersion.parseName(appversionString, AppVersion.Engine.SCANNER)
+        AppVersion matched = AppVersion.parseName(appversionString, AppVersion.Engine.PATTERN)
+
+        then:
+        scanned == matched
+        (scanned == null) == !AppVersion.appVersionPattern.matcher(appversionString).matches()
+
+        where:
+        appversionString << [
+                'appName-0.1-9b3bc237.h150',
+                'appName-0.1~dev.1-h150.9b3bc237~focal',
+                'my-app-0.0.1~snapshot.202009092025-h108.2258259/MY-J-JOB/108',
+                'a-b-c-d-e-f',
+                'a-b-c~d-e-f',
+                'a-1-2.3.4',
+                'a-1-2~',
+                'a-1-2.',
+                'a-1-h2~x-y-z/job/1',
+                'a-1-2/job/',
+                'a-1-2//1',
+                'a-1-2/job/1/2',
+                'a-1-2/job/x',
+                '-1-2',
+                'a--2',
+                'a-1-',
+                'a-1-2\n',
+                'a-1_0-2',
+                'a^b-1-2'
+        ]
+    }
+
+    def 'should default to the scanner'() {
+        expect:
+        AppVersion.parseName('sub-1.0.0-586499.h150') == AppVersion.parseName('sub-1.0.0-586499.h150', AppVersion.Engine.SCANNER)
+        AppVersion.parseName(null, AppVersion.Engine.PATTERN) == null
+    }
+
+    def 'numeric order should compare digit runs by value'() {
+        given:
+        Comparator<AppVersion> order = AppVersion.numericOrder()
+
+        expect:
+        order.compare(lesser, greater) < 0
+        order.compare(greater, lesser) > 0
+
+        where:
+        lesser                                                               | greater
+        newAppVersion('app', '1.9', 'job', '456', 'abc')                     | newAppVersion('app', '1.10', 'job', '456', 'abc')
+        newAppVersion('app', '1.2.3', 'job', '9', 'abc')                     | newAppVersion('app', '1.2.3', 'job', '10', 'abc')
+        newAppVersion('app', '1.2', 'job', '9', 'abc')                       | newAppVersion('app', '1.2.0', 'job', '1', 'abc')
+        newAppVersion('app', '1.01', 'job', '9', 'abc')                      | newAppVersion('app', '1.1', 'job', '9', 'abc')
+        newAppVersion('app', '2.99999999999999999', 'job', '9', 'abc')       | newAppVersion('app', '2.100000000000000000', 'job', '9', 'abc')
+        newAppVersion('app', null, 'job', '9', 'abc')                        | newAppVersion('app', '0', 'job', '9', 'abc')
+        newAppVersion('App', '9', 'job', '9', 'abc')                         | newAppVersion('app', '1', 'job', '9', 'abc')
+        null                                                                 | newAppVersion('app', '1', 'job', '9', 'abc')
+    }
+
+    def 'numeric order should agree with equals'() {
+        expect:
+        AppVersion.numericOrder().compare(appVersion, newAppVersion("app", "1.2.3", "WE-WAPP-app", "456", "1234567")) == 0
+        AppVersion.numericOrder().compare(appVersion, appVersion) == 0
+    }
+
+    def 'should sort by numeric order'() {
+        given:
+        List<AppVersion> versions = ['app-1.10-h10.abc', 'app-1.9-h10.abc', 'app-1.9-h9.abc', 'app-1.2-h100.abc']
+                .collect { AppVersion.parseName(it) }
+
+        when:
+        versions.sort(AppVersion.numericOrder())
+
+        then:
+        versions*.version == ['1.2', '1.9', '1.9', '1.10']
+        versions*.buildNumber == ['100', '9', '10', '10']
+    }
+
+    def 'should select the newest version of each package in one pass'() {
+        given:
+        List<AppVersion> versions = ['app-1.9-h9.abc', 'other-2.0-h1.def', null, 'app-1.10-h3.abc', 'app-1.10-h2.abc']
+                .collect { AppVersion.parseName(it) }
+
+        when:
+        Map<String, AppVersion> newest = AppVersion.newestByPackageName(versions)
+
+        then:
+        newest.keySet() as List == ['app', 'other']
+        newest.app.version == '1.10'
+        newest.app.buildNumber == '3'
+        newest.other.version == '2.0'
+
+        when:
+        newest = AppVersion.newestByPackageName(versions, Comparator.naturalOrder())
+
+        then:
+        newest.app.version == '1.9'
+    }
+
     boolean assertIsLessThan(AppVersion lesser, AppVersion greater) {
         lesser != greater &&
                 0 > lesser.compareTo(greater) &&
@@ -15,6 +15,8 @@
  */
 package com.netflix.frigga.ami
 
+import java.time.LocalDate
+
 import spock.lang.Specification
 
 class BaseAmiInfoSpec extends Specification {
@@ -45,4 +47,54 @@ class BaseAmiInfoSpec extends Specification {
         Date.parse('yyyy-MM-dd', '2010-11-24') == BaseAmiInfo.parseDescription('store=ebs,ancestor_name=ebs-centosbase-x86_64-20101124,ancestor_id=ami-7b4eb912').baseAmiDate
     }
 
+    def 'local date tests'() {
+        expect:
+        BaseAmiInfo.parseDescription(description).baseAmiLocalDate == (date ? LocalDate.parse(date) : null)
+
+        where:
+        description                                                                      | date
+        'store=ebs,ancestor_name=ebs-centosbase-x86_64-20101124,ancestor_id=ami-7b4eb912' | '2010-11-24'
+        'ancestor_name=base-20101124-20110301-x86_64'                                     | '2011-03-01'
+        'ancestor_name=base-20101124x'                                                    | null
+        'ancestor_name=base-20101340'                                                     | '2011-02-09'
+        'ancestor_name=base-20100000'                                                     | '2009-11-30'
+        'base_ami_id=ami-50886239'                                                        | null
+        null                                                                              | null
+    }
+
+    def 'base ami values take precedence over ancestor values'() {
+        when:
+        BaseAmiInfo info = BaseAmiInfo.parseDescription(
+                'ancestor_id=ami-7b4eb912,ancestor_name=ancestor-20101124,base_ami_name=base-20110101,base_ami_id=ami-1eb75c77')
+
+        then:
+        info.baseAmiId == 'ami-1eb75c77'
+        info.baseAmiName == 'base-20110101'
+        info.baseAmiLocalDate == LocalDate.of(2011, 1, 1)
+    }
+
+    def 'should keep historical edge cases'() {
+        when:
+        BaseAmiInfo info = BaseAmiInfo.parseDescription(description)
+
+        then:
+        info.baseAmiId == id
+        info.baseAmiName == name
+
+        where:
+        description                                        | id             | name
+        'base_ami_id=ami-1234567890'                       | 'ami-12345678' | null
+        'base_ami_id=ami-ABCDEFGH,ancestor_id=ami-abcdefgh' | 'ami-abcdefgh' | null
+        'x_base_ami_name=a,base_ami_name=b'                | null           | 'a'
+        'base_ami_name=,ancestor_name=a'                   | null           | 'a'
+        'base_ami_id=ami-12345678\nbase_ami_name=a'        | null           | null
+        'base_ami_name=a\nb'                               | null           | 'a\nb'
+    }
+
+    def 'should be equal when parsed from equal descriptions'() {
+        expect:
+        BaseAmiInfo.parseDescription('ancestor_name=a-20101124') == BaseAmiInfo.parseDescription('ancestor_name=a-20101124')
+        BaseAmiInfo.parseDescription('ancestor_name=a-20101124') != BaseAmiInfo.parseDescription('ancestor_name=a-20101125-a')
+    }
+
 }
@@ -79,4 +79,49 @@ class AutoScalingGroupNameBuilderSpec extends Specification {
         then:
         noExceptionThrown()
     }
+
+    def 'should append the same name as buildGroupName into a reused buffer'() {
+        given:
+        StringBuilder buffer = new StringBuilder()
+        StringWriter writer = new StringWriter()
+        AutoScalingGroupNameBuilder builder = new AutoScalingGroupNameBuilder()
+                .withAppName(app)
+                .withStack(stack)
+                .withDetail(detail)
+                .withCountries(countries)
+                .withZoneVar(zone)
+
+        when:
+        buffer.setLength(0)
+        builder.appendGroupName(buffer, true)
+        builder.appendGroupName((Appendable) writer, true)
+
+        then:
+        buffer.toString() == builder.buildGroupName(true)
+        writer.toString() == builder.buildGroupName(true)
+
+        where:
+        app   | stack   | detail              | countries | zone
+        'app' | null    | null                | null      | null
+        'app' | 'stack' | null                | null      | null
+        'app' | null    | 'detail'            | null      | null
+        'app' | ''      | 'multi-part-detail' | 'us'      | 'useast1a'
+        'app' | 'stack' | 'detail'            | ''        | 'useast1a'
+    }
+
+    def 'should validate when appending'() {
+        when:
+        new AutoScalingGroupNameBuilder().withAppName('app').withDetail(detail).appendGroupName(new StringBuilder(), true)
+
+        then:
+        def ex = thrown(IllegalArgumentException.class)
+        ex.message == message
+
+        where:
+        detail         | message
+        'abc-v123-def' | 'detail cannot contain a push version'
+        'v123456'      | 'detail cannot contain a push version'
+        'hello$'       | '(Use alphanumeric characters only)'
+    }
+
 }
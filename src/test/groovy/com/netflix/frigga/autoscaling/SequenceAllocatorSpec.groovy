@@ -0,0 +1,125 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.autoscaling
+
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class SequenceAllocatorSpec extends Specification {
+
+    def 'should allocate like buildNextGroupName'() {
+        given:
+        SequenceAllocator allocator = SequenceAllocator.seededFrom(seed)
+
+        expect:
+        allocator.allocateNextGroupName(asg) == next
+        next == AutoScalingGroupNameBuilder.buildNextGroupName(latest)
+
+        where:
+        seed                                     | asg              | latest                   | next
+        []                                       | 'app-stack'      | 'app-stack'              | 'app-stack-v000'
+        ['app-stack']                            | 'app-stack'      | 'app-stack'              | 'app-stack-v000'
+        ['app-stack-v041', 'app-stack-v040']     | 'app-stack-v040' | 'app-stack-v041'         | 'app-stack-v042'
+        ['app-stack-v998', 'app-stack-v999']     | 'app-stack'      | 'app-stack-v999'         | 'app-stack-v000'
+        ['app-stack-v999', 'app-stack-v000']     | 'app-stack'      | 'app-stack-v000'         | 'app-stack-v001'
+        ['app-stack-v001999']                    | 'app-stack'      | 'app-stack-v001999'      | 'app-stack-v000'
+    }
+
+    def 'should reserve consecutive names across the wraparound'() {
+        given:
+        SequenceAllocator allocator = SequenceAllocator.seededFrom(['app-v997'])
+
+        expect:
+        allocator.allocateNextGroupNames('app', 4) == ['app-v998', 'app-v999', 'app-v000', 'app-v001']
+        allocator.allocateNextGroupName('app') == 'app-v002'
+        allocator.getLastSequence('app') == 2
+    }
+
+    def 'should never hand out the same name to concurrent callers'() {
+        given:
+        SequenceAllocator allocator = new SequenceAllocator()
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def futures = (0..<8).collect {
+            executor.submit({ (0..<100).collect { allocator.allocateNextGroupName('app-stack') } } as Callable)
+        }
+        def names = futures.collectMany { it.get() }
+        executor.shutdown()
+        executor.awaitTermination(1, TimeUnit.MINUTES)
+
+        then:
+        names.size() == 800
+        names.toSet().size() == 800
+        allocator.getLastSequence('app-stack') == 799
+    }
+
+    def 'should continue from a seed made while names are being allocated'() {
+        given:
+        SequenceAllocator allocator = new SequenceAllocator()
+        def executor = Executors.newFixedThreadPool(8)
+        def started = new CountDownLatch(100)
+
+        when:
+        def futures = (0..<8).collect {
+            executor.submit({
+                (0..<50).collect {
+                    String name = allocator.allocateNextGroupName('app-stack')
+                    started.countDown()
+                    name
+                }
+            } as Callable)
+        }
+        started.await()
+        allocator.seed(['app-stack-v500'])
+        def names = futures.collectMany { it.get() }
+        executor.shutdown()
+        executor.awaitTermination(1, TimeUnit.MINUTES)
+        def afterSeed = names.collect { it[-3..-1] as int }.findAll { it > 500 }.sort()
+
+        then:
+        names.toSet().size() == 400
+        afterSeed == (501..<(501 + afterSeed.size())).toList()
+        allocator.getLastSequence('app-stack') == 500 + afterSeed.size()
+        allocator.allocateNextGroupName('app-stack') == SequenceAllocator.formatGroupName('app-stack', 501 + afterSeed.size())
+    }
+
+    def 'should reject invalid input'() {
+        when:
+        new SequenceAllocator().allocateNextGroupName(name)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        name << [null, 'nccp-moviecontrol%27']
+    }
+
+    def 'should reject invalid batch sizes'() {
+        when:
+        new SequenceAllocator().allocateNextGroupNames('app', count)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        count << [0, 1001]
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.netflix.frigga.cluster
 
+import com.netflix.frigga.Names
 import spock.lang.Specification
 
 class ClusterGrouperSpec extends Specification {
@@ -28,4 +29,22 @@ class ClusterGrouperSpec extends Specification {
         groupedAsgs['chukwa.collector_1'] == ['chukwa.collector_1-v889']
     }
 
+    def 'should group in parallel the same way as sequentially'() {
+        given:
+        List<String> asgNames = (0..<5000).collect { it % 7 == 0 ? "bad%$it" : "app${it % 13}-v${String.format('%03d', it % 1000)}" }
+        AsgNameProvider<String> provider = { String name -> name } as AsgNameProvider<String>
+
+        when:
+        def sequential = ClusterGrouper.groupByClusterName(asgNames, provider)
+        def parallel = ClusterGrouper.groupByClusterNameInParallel(asgNames, provider)
+        def collected = asgNames.parallelStream().collect(ClusterGrouper.byCluster(provider))
+
+        then:
+        parallel == sequential
+        collected == sequential
+        sequential.size() == 14
+        sequential[null].size() == 715
+        sequential['app1'] == asgNames.findAll { Names.parseName(it).cluster == 'app1' }
+    }
+
 }
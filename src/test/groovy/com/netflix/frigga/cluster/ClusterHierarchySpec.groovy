@@ -0,0 +1,75 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.cluster
+
+import spock.lang.Specification
+
+class ClusterHierarchySpec extends Specification {
+
+    static final List<String> ASG_NAMES = [
+            'api-prod-v001',
+            'api-prod-v002',
+            'api-prod-useast-v001',
+            'api-prod-uswest-v001',
+            'api-prod-eu-v001',
+            'api-test-v001',
+            'api-v001',
+            'api--canary',
+            'discovery-us-east-1d',
+            'nccp-moviecontrol%27'
+    ]
+
+    ClusterHierarchy<String> hierarchy = ClusterHierarchy.ofAsgNames(ASG_NAMES)
+
+    def 'should list apps and stacks'() {
+        expect:
+        hierarchy.apps == ['api', 'discovery'] as Set
+        hierarchy.getStacks('api') as List == ['prod', 'test']
+        hierarchy.getStacks('missing').isEmpty()
+    }
+
+    def 'should list clusters'() {
+        expect:
+        hierarchy.getClusterNames('api') == ['api', 'api--canary', 'api-prod', 'api-prod-eu', 'api-prod-useast',
+                                             'api-prod-uswest', 'api-test']
+        hierarchy.getClusterNames('api', 'prod', null) == ['api-prod', 'api-prod-eu', 'api-prod-useast', 'api-prod-uswest']
+        hierarchy.getClusterNames('api', 'prod', 'us') == ['api-prod-useast', 'api-prod-uswest']
+        hierarchy.getClusterNames('api', 'prod', '') == ['api-prod-eu', 'api-prod-useast', 'api-prod-uswest']
+        hierarchy.getClusterNames('api', null, null) == ['api', 'api--canary']
+        hierarchy.getClusterNames('api', 'staging', null) == []
+    }
+
+    def 'should list members'() {
+        expect:
+        hierarchy.getMembers('api').size() == 8
+        hierarchy.getMembers('api', 'prod', null) == ['api-prod-v001', 'api-prod-v002', 'api-prod-eu-v001',
+                                                      'api-prod-useast-v001', 'api-prod-uswest-v001']
+        hierarchy.getMembers('api', 'prod', 'usw') == ['api-prod-uswest-v001']
+        hierarchy.getMembers('discovery', 'us', 'east') == ['discovery-us-east-1d']
+        hierarchy.getMembers('nccp').isEmpty()
+    }
+
+    def 'should index objects through a name provider'() {
+        given:
+        def asgs = ASG_NAMES.collect { [name: it] }
+
+        when:
+        ClusterHierarchy<Map> index = ClusterHierarchy.of(asgs, { Map asg -> asg.name } as AsgNameProvider<Map>)
+
+        then:
+        index.getMembers('api', 'test', null) == [[name: 'api-test-v001']]
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.cluster
+
+import spock.lang.Specification
+
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ClusterIndexSpec extends Specification {
+
+    AsgNameProvider<String> provider = { String name -> name } as AsgNameProvider<String>
+
+    def 'should track clusters through adds and removes'() {
+        given:
+        ClusterIndex<String> index = new ClusterIndex<>(provider)
+
+        when:
+        index.addAll(['actiondrainer', 'actiondrainer-v003', 'chukwa.collector_1-v889', 'bad%'])
+
+        then:
+        index.size() == 4
+        index.clusterCount == 3
+        index.getCluster('actiondrainer') == ['actiondrainer', 'actiondrainer-v003']
+        index.getCluster(null) == ['bad%']
+        index.snapshot() == ClusterGrouper.groupAsgNamesByClusterName(['actiondrainer', 'actiondrainer-v003', 'chukwa.collector_1-v889', 'bad%'])
+
+        when:
+        boolean addedAgain = index.add('actiondrainer-v003')
+        boolean removed = index.remove('chukwa.collector_1-v889')
+        boolean removedMissing = index.remove('chukwa.collector_1-v890')
+        index.add('actiondrainer-v004')
+
+        then:
+        !addedAgain
+        removed
+        !removedMissing
+        index.size() == 4
+        index.clusterNames == ['actiondrainer', null] as Set
+        index.getCluster('actiondrainer') == ['actiondrainer', 'actiondrainer-v003', 'actiondrainer-v004']
+        index.getCluster('chukwa.collector_1') == []
+
+        when:
+        index.clear()
+
+        then:
+        index.size() == 0
+        index.snapshot() == [:]
+    }
+
+    def 'should apply concurrent events'() {
+        given:
+        ClusterIndex<String> index = new ClusterIndex<>(provider)
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        (0..<8).each { int worker ->
+            executor.submit({
+                (0..<500).each { int i ->
+                    String name = "app${i % 10}-w$worker-v${String.format('%03d', i)}"
+                    index.add(name)
+                    if (i % 2 == 0) {
+                        index.remove(name)
+                    }
+                }
+            } as Runnable)
+        }
+        executor.shutdown()
+        executor.awaitTermination(1, TimeUnit.MINUTES)
+
+        then:
+        index.size() == 8 * 250
+        index.clusterCount == 80
+        index.snapshot().values().sum { it.size() } == 8 * 250
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2012 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.cluster
+
+import com.netflix.frigga.autoscaling.AutoScalingGroupNameBuilder
+import spock.lang.Specification
+
+class PushOrderingSpec extends Specification {
+
+    PushOrdering<String> ordering = new PushOrdering<>({ String name -> name } as AsgNameProvider<String>)
+
+    def 'should order pushes of #asgNames'() {
+        when:
+        ordering.addAll(asgNames)
+
+        then:
+        ordering.getLatest(cluster) == latest
+        ordering.getPrevious(cluster) == previous
+
+        where:
+        asgNames                                         || cluster || latest     || previous
+        ['app-v001']                                     || 'app'   || 'app-v001' || null
+        ['app-v002', 'app-v010', 'app-v001']             || 'app'   || 'app-v010' || 'app-v002'
+        ['app-v998', 'app-v000', 'app-v999']             || 'app'   || 'app-v000' || 'app-v999'
+        ['app-v999', 'app-v001', 'app-v000']             || 'app'   || 'app-v001' || 'app-v000'
+        ['app', 'app-v000']                              || 'app'   || 'app-v000' || 'app'
+        ['app']                                          || 'app'   || 'app'      || null
+        ['app-v001']                                     || 'other' || null       || null
+    }
+
+    def 'should follow AutoScalingGroupNameBuilder across the wraparound'() {
+        given:
+        String asg = 'app-stack-v997'
+        ordering.add(asg)
+
+        expect:
+        (1..5).each {
+            String next = AutoScalingGroupNameBuilder.buildNextGroupName(asg)
+            ordering.add(next)
+            assert ordering.getLatest('app-stack') == next
+            assert ordering.getPrevious('app-stack') == asg
+            asg = next
+        }
+        ordering.getPushes('app-stack') == ['app-stack-v997', 'app-stack-v998', 'app-stack-v999', 'app-stack-v000',
+                                            'app-stack-v001', 'app-stack-v002']
+    }
+
+    def 'should update on removal'() {
+        given:
+        ordering.addAll(['app-v998', 'app-v999', 'app-v000'])
+
+        when:
+        ordering.remove('app-v000')
+
+        then:
+        ordering.getLatest('app') == 'app-v999'
+        ordering.getPrevious('app') == 'app-v998'
+
+        when:
+        ordering.remove('app-v998')
+        ordering.remove('app-v999')
+
+        then:
+        ordering.getLatest('app') == null
+        ordering.getPushes('app') == []
+        !ordering.remove('app-v999')
+    }
+
+    def 'should ignore duplicates and unparseable names'() {
+        expect:
+        ordering.add('app-v001')
+        !ordering.add('app-v001')
+        !ordering.add('nccp-moviecontrol%27')
+    }
+}
@@ -70,4 +70,29 @@ class LabeledVariablesNamingConventionSpec extends Specification {
     details = "$unprocessed-c0$country-d0$devPhase-h0$hardware-p0$partners-r0$revision-u0$usedBy-w0$redBlackSwap-z0$zone"
   }
 
+  def "extracts '#details' the same way as the labeled variable patterns"() {
+    when:
+    def result = subject.extractNamingConvention(details)
+
+    then:
+    result.unprocessed == unprocessed
+    result.result.map { it.countries }.orElse(null) == country
+    result.result.map { it.devPhase }.orElse(null) == devPhase
+    result.result.map { it.zone }.orElse(null) == zone
+
+    where:
+    details                 || unprocessed  || country || devPhase || zone
+    null                    || null         || null    || null     || null
+    ''                      || null         || null    || null     || null
+    'foo'                   || null         || null    || null     || null
+    'c0'                    || null         || null    || null     || null
+    'c0us-foo'              || null         || null    || null     || null
+    'c0us'                  || ''           || 'us'    || null     || null
+    '-c0us'                 || ''           || 'us'    || null     || null
+    'foo--c0us'             || 'foo-'       || 'us'    || null     || null
+    'c0us-x-z0a-c0ca'       || 'c0us-x'     || 'ca'    || null     || 'a'
+    'foo-c0d0x'             || 'foo'        || 'd0x'   || 'x'      || null
+    'foo-z0c0a-c0b'         || 'foo'        || 'a'     || null     || 'c0a'
+    'foo\nbar-c0us'         || null         || null    || null     || null
+  }
 }
@@ -44,6 +44,70 @@ class ShardingNamingConventionSpec extends Specification {
     "x2bar-x1foo-blah-x3baz"    || "-blah-x3baz"     || [1: s(1, "foo"), 2: s(2, "bar")] || [remains("-blah-x3baz", 3, "baz")]
     "x10"                       || "x10"             || null                             || []
     "x1"                        || "x1"              || null                             || []
+    "-x1foo-x2bar"              || ""                || [1: s(1, "foo"), 2: s(2, "bar")] || []
+    "x1foo.x2bar"               || ".x2bar"          || [1: s(1, "foo")]                 || []
+    "x1foo-x0bar-x02a-x3b4"     || "-x0bar-x02a-x3b4"|| [1: s(1, "foo")]                 || [remains("-x0bar-x02a-x3b4", 3, "b4")]
+    "x1foo-x2bar\n"             || "x1foo-x2bar\n"   || null                             || []
+  }
+
+  def "extracts many shards in one pass"() {
+    given:
+    String details = (1..5000).collect { "x${it}v${it}" }.join('-') + '-rest-x1a'
+
+    when:
+    def result = subject.extractNamingConvention(details)
+
+    then:
+    result.result.get().size() == 5000
+    result.result.get()[4321] == s(4321, "v4321")
+    result.unprocessed == '-rest-x1a'
+    new ArrayList<>(result.warnings) == [remains('-rest-x1a', 1, 'a')]
+  }
+
+  def "exposes shards by int id"() {
+    when:
+    def result = subject.extractNamingConvention("x2bar-x1foo-x2baz")
+
+    then:
+    result.shards.size() == 2
+    result.shards.getValue(2) == "baz"
+    result.shards.getValue(3) == null
+    result.result.get() == [1: s(1, "foo"), 2: s(2, "baz")]
+
+    when:
+    result = subject.extractNamingConvention("foo")
+
+    then:
+    result.shards.isEmpty()
+    !result.result.isPresent()
+  }
+
+  def "returns the same mutable map from every call"() {
+    given:
+    def result = subject.extractNamingConvention("x2bar-x1foo")
+
+    when:
+    Map<Integer, Shard> shards = result.result.get()
+    shards.put(3, s(3, "baz"))
+
+    then:
+    result.result.get().is(shards)
+    shards.keySet() as List == [1, 2, 3]
+    result.shards.size() == 2
+  }
+
+  def "keeps a result map as given"() {
+    given:
+    Map<Integer, Shard> map = [1: s(2, "bar"), 3: null]
+
+    when:
+    def result = new ShardingNamingResult(map, "", [], [])
+
+    then:
+    result.result.get().is(map)
+    result.shards.getValue(1) == "bar"
+    result.shards.size() == 1
+    !new ShardingNamingResult([:], "", [], []).result.isPresent()
   }
 
   private static String dupe(Integer id, String prev, String current) {
@@ -0,0 +1,76 @@
+/**
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.conventions.sharding
+
+import spock.lang.Specification
+
+class ShardsSpec extends Specification {
+
+  def "keeps shards sorted by id and replaces duplicates"() {
+    given:
+    Shards shards = new Shards()
+
+    expect:
+    shards.put(3, "c") == null
+    shards.put(1, "a") == null
+    shards.put(2, "b") == null
+    shards.put(3, "d") == "c"
+    shards.size() == 3
+    (0..<shards.size()).collect { shards.getShardIdAt(it) } == [1, 2, 3]
+    (0..<shards.size()).collect { shards.getShardValueAt(it) } == ["a", "b", "d"]
+    shards.getValue(3) == "d"
+    shards.getValue(4) == null
+    shards.get(2) == new Shard(2, "b")
+    shards.contains(1)
+    !shards.contains(0)
+  }
+
+  def "presents a read only map view"() {
+    given:
+    Shards shards = Shards.of([2: new Shard(2, "b"), 10: new Shard(10, "j")])
+
+    when:
+    Map<Integer, Shard> map = shards.asMap()
+
+    then:
+    map == [2: new Shard(2, "b"), 10: new Shard(10, "j")]
+    map.keySet() as List == [2, 10]
+    map[10] == new Shard(10, "j")
+    map["10"] == null
+    !map.containsKey(3)
+    shards == Shards.of(map)
+    shards.hashCode() == Shards.of(map).hashCode()
+
+    when:
+    map.put(3, new Shard(3, "c"))
+
+    then:
+    thrown(UnsupportedOperationException)
+  }
+
+  def "copies maps by key, leaving out nulls"() {
+    expect:
+    Shards.of([1: new Shard(2, "b"), (null): new Shard(3, "c"), 4: null]).toString() == "Shards{1=b}"
+  }
+
+  def "rejects positions outside of the shards"() {
+    when:
+    new Shards().getShardIdAt(0)
+
+    then:
+    thrown(IndexOutOfBoundsException)
+  }
+}
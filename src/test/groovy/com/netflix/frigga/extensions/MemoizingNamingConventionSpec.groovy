@@ -0,0 +1,119 @@
+/**
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.extensions
+
+import com.netflix.frigga.conventions.labeledvariables.LabeledVariablesNamingConvention
+import com.netflix.frigga.conventions.labeledvariables.LabeledVariablesNamingResult
+import com.netflix.frigga.conventions.sharding.ShardingNamingConvention
+import spock.lang.Specification
+
+class MemoizingNamingConventionSpec extends Specification {
+
+  def "applies the convention once per distinct name component"() {
+    given:
+    NamingConvention<LabeledVariablesNamingResult> convention = Mock()
+    def result = new LabeledVariablesNamingConvention().extractNamingConvention("c0us")
+    def memoized = NamingConventions.memoize(convention, 10)
+
+    when:
+    def first = memoized.extractNamingConvention("c0us")
+    def second = memoized.extractNamingConvention("c0us")
+
+    then:
+    1 * convention.extractNamingConvention("c0us") >> result
+    first.is(result)
+    second.is(result)
+  }
+
+  def "returns the same results as the convention"() {
+    given:
+    def sharding = new ShardingNamingConvention()
+    def memoized = NamingConventions.memoize(sharding, 10)
+
+    when:
+    def expected = sharding.extractNamingConvention(details)
+    def actual = memoized.extractNamingConvention(details)
+    def again = memoized.extractNamingConvention(details)
+
+    then:
+    actual.result == expected.result
+    actual.unprocessed == expected.unprocessed
+    actual.warnings as List == expected.warnings as List
+    again.is(actual)
+
+    where:
+    details << ["", "foo", "x1a", "x1a-x2b-x1c", "x1a-x0b"]
+  }
+
+  def "keeps shared empty results shared"() {
+    given:
+    def memoized = NamingConventions.memoize(new LabeledVariablesNamingConvention(), 10)
+
+    expect:
+    memoized.extractNamingConvention("foo").is(LabeledVariablesNamingResult.EMPTY)
+    memoized.extractNamingConvention("bar").is(LabeledVariablesNamingResult.EMPTY)
+  }
+
+  def "keeps the least recently used results"() {
+    given:
+    def memoized = NamingConventions.memoize(new LabeledVariablesNamingConvention(), 2)
+    def us = memoized.extractNamingConvention("c0us")
+    def prod = memoized.extractNamingConvention("d0prod")
+
+    when:
+    memoized.extractNamingConvention("c0us")
+    memoized.extractNamingConvention("h0m3")
+
+    then:
+    memoized.extractNamingConvention("c0us").is(us)
+    !memoized.extractNamingConvention("d0prod").is(prod)
+  }
+
+  def "does not remember null"() {
+    given:
+    def memoized = NamingConventions.memoize(new LabeledVariablesNamingConvention(), 10)
+
+    expect:
+    !memoized.extractNamingConvention(null).result.isPresent()
+    memoized.size() == 0
+  }
+
+  def "clear forgets every result"() {
+    given:
+    def memoized = NamingConventions.memoize(new LabeledVariablesNamingConvention(), 10)
+    def cleared = memoized.extractNamingConvention("c0us")
+
+    when:
+    memoized.clear()
+
+    then:
+    memoized.size() == 0
+    !memoized.extractNamingConvention("c0us").is(cleared)
+  }
+
+  def "rejects invalid arguments"() {
+    when:
+    NamingConventions.memoize(convention, maxEntries)
+
+    then:
+    thrown(expected)
+
+    where:
+    convention                             | maxEntries || expected
+    null                                   | 10         || NullPointerException
+    new LabeledVariablesNamingConvention() | 0          || IllegalArgumentException
+  }
+}
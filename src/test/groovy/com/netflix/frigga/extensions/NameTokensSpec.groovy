@@ -0,0 +1,59 @@
+/**
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.extensions
+
+import spock.lang.Specification
+
+class NameTokensSpec extends Specification {
+
+  def "splits a name component on hyphens"() {
+    when:
+    NameTokens tokens = NameTokens.of("x1foo--c0us-d0prod")
+
+    then:
+    tokens.tokenCount == 4
+    (0..<tokens.tokenCount).collect { tokens.getToken(it) } == ["x1foo", "", "c0us", "d0prod"]
+    tokens.getTokenStart(2) == 7
+    tokens.getTokenEnd(2) == 11
+    !tokens.containsLineTerminator()
+    tokens.toString().is(tokens.source)
+  }
+
+  def "windows share the tokenization and cut tokens at their edges"() {
+    given:
+    NameTokens tokens = NameTokens.of("abc-def-ghi\njkl")
+
+    when:
+    NameTokens window = tokens.window(5, 10)
+
+    then:
+    window.toString() == "ef-gh"
+    (0..<window.tokenCount).collect { window.getToken(it) } == ["ef", "gh"]
+    window.getTokenStart(1) == 8
+    !window.containsLineTerminator()
+    tokens.containsLineTerminator()
+    tokens.window(11, 12).containsLineTerminator()
+    tokens.window(4, 4).tokenCount == 0
+  }
+
+  def "rejects windows outside of the tokens"() {
+    when:
+    NameTokens.of("abc").window(1, 2).window(0, 2)
+
+    then:
+    thrown(IndexOutOfBoundsException)
+  }
+}
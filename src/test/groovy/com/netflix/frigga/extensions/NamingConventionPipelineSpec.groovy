@@ -0,0 +1,132 @@
+/**
+ * Copyright 2020 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.frigga.extensions
+
+import com.netflix.frigga.conventions.labeledvariables.LabeledVariables
+import com.netflix.frigga.conventions.labeledvariables.LabeledVariablesNamingConvention
+import com.netflix.frigga.conventions.sharding.Shard
+import com.netflix.frigga.conventions.sharding.ShardingNamingConvention
+import spock.lang.Specification
+
+class NamingConventionPipelineSpec extends Specification {
+
+  ShardingNamingConvention sharding = new ShardingNamingConvention()
+  LabeledVariablesNamingConvention labeledVariables = new LabeledVariablesNamingConvention()
+  NamingConventionPipeline pipeline = NamingConventionPipeline.of(sharding, labeledVariables)
+
+  def "runs every convention and gathers their results"() {
+    when:
+    NamingConventionPipeline.Result result = pipeline.extractNamingConvention("x1foo-x2bar-x1baz-detail-c0us-d0prod")
+
+    then:
+    result.get(sharding).result.get() == [1: new Shard(1, "baz"), 2: new Shard(2, "bar")]
+    result.get(labeledVariables).result.get() == new LabeledVariables("us", "prod", null, null, null, null, null, null)
+    result.results.size() == 2
+    result.unprocessed == "-detail"
+    result.result.isPresent()
+    result.warnings.size() == 1
+    result.valid
+  }
+
+  def "matches chaining the conventions by hand"() {
+    when:
+    def shards = sharding.extractNamingConvention(details)
+    def labels = labeledVariables.extractNamingConvention(shards.unprocessed)
+    def result = pipeline.extractNamingConvention(details)
+
+    then:
+    result.get(sharding).result == shards.result
+    result.get(sharding).unprocessed == shards.unprocessed
+    result.get(sharding).warnings as List == shards.warnings as List
+    result.get(labeledVariables).result == labels.result
+    result.get(labeledVariables).unprocessed == labels.unprocessed
+    result.unprocessed == (labels.unprocessed == null ? shards.unprocessed : labels.unprocessed)
+
+    where:
+    details << ["", "foo", "x1a", "x1a-c0us", "c0us-x1a", "x1a-b-x2c-h0m3", "x1a-d0test\nc0us", "-x1a-c0us"]
+  }
+
+  def "runs conventions that don't share tokens over the unprocessed string"() {
+    given:
+    UpperCaseConvention upper = new UpperCaseConvention()
+    NamingConventionPipeline custom = NamingConventionPipeline.of(sharding, upper)
+
+    when:
+    NamingConventionPipeline.Result result = custom.extractNamingConvention("x1a-rest")
+
+    then:
+    result.get(upper).result.get() == "-REST"
+    result.unprocessed == ""
+  }
+
+  def "has no result when no convention extracts anything"() {
+    when:
+    NamingConventionPipeline.Result result = pipeline.extractNamingConvention("detail")
+
+    then:
+    !result.result.isPresent()
+    result.unprocessed == "detail"
+    result.warnings.isEmpty()
+  }
+
+  def "only hands out results of its own conventions"() {
+    when:
+    pipeline.extractNamingConvention("x1a").get(new ShardingNamingConvention())
+
+    then:
+    thrown(IllegalArgumentException)
+  }
+
+  static class UpperCaseConvention implements NamingConvention<UpperCaseResult> {
+    @Override
+    UpperCaseResult extractNamingConvention(String nameComponent) {
+      return new UpperCaseResult(nameComponent.toUpperCase())
+    }
+  }
+
+  static class UpperCaseResult implements NamingResult<String> {
+    private final String value
+
+    UpperCaseResult(String value) {
+      this.value = value
+    }
+
+    @Override
+    Optional<String> getResult() {
+      return Optional.of(value)
+    }
+
+    @Override
+    String getUnprocessed() {
+      return ""
+    }
+
+    @Override
+    Collection<String> getWarnings() {
+      return []
+    }
+
+    @Override
+    Collection<String> getErrors() {
+      return []
+    }
+
+    @Override
+    boolean isValid() {
+      return true
+    }
+  }
+}